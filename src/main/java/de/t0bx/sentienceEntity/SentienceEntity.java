@@ -38,15 +38,23 @@ import de.t0bx.sentienceEntity.hologram.HologramManager;
 import de.t0bx.sentienceEntity.inventory.InventoryProvider;
 import de.t0bx.sentienceEntity.listener.*;
 import de.t0bx.sentienceEntity.network.PacketController;
+import de.t0bx.sentienceEntity.network.PacketFlushQueue;
 import de.t0bx.sentienceEntity.network.channel.ChannelAccess;
 import de.t0bx.sentienceEntity.network.channel.PaperChannelAccess;
 import de.t0bx.sentienceEntity.network.channel.SpigotChannelAccess;
 import de.t0bx.sentienceEntity.network.handler.PacketReceiveHandler;
+import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.npc.NpcsHandler;
 import de.t0bx.sentienceEntity.npc.SentienceNPC;
 import de.t0bx.sentienceEntity.npc.setup.NpcCreation;
+import de.t0bx.sentienceEntity.npc.tracker.NpcLookEngine;
+import de.t0bx.sentienceEntity.npc.tracker.NpcTracker;
 import de.t0bx.sentienceEntity.path.SentiencePathHandler;
 import de.t0bx.sentienceEntity.path.data.SentiencePathType;
+import de.t0bx.sentienceEntity.storage.BinaryStorageBackend;
+import de.t0bx.sentienceEntity.storage.JsonStorageBackend;
+import de.t0bx.sentienceEntity.storage.StorageBackend;
+import de.t0bx.sentienceEntity.storage.StorageType;
 import de.t0bx.sentienceEntity.update.UpdateManager;
 import de.t0bx.sentienceEntity.utils.SkinFetcher;
 import lombok.Getter;
@@ -62,6 +70,7 @@ import org.bukkit.scoreboard.Team;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 @Getter
@@ -84,12 +93,15 @@ public final class SentienceEntity extends JavaPlugin {
 
     private final String prefix = "<gradient:#0a0f2c:#0f4a6b:#00cfff>SentienceEntity</gradient> <dark_gray>| <gray>";
 
+    private StorageBackend storageBackend;
     private SkinFetcher skinFetcher;
     private PacketController packetController;
     private InventoryProvider inventoryProvider;
     private NpcCreation npcCreation;
     private NpcsHandler npcshandler;
     private HologramManager hologramManager;
+    private NpcLookEngine npcLookEngine;
+    private NpcTracker npcTracker;
     private SentiencePathHandler sentiencePathHandler;
     private PacketReceiveHandler packetReceiveHandler;
 
@@ -124,6 +136,15 @@ public final class SentienceEntity extends JavaPlugin {
 
         if (!isPaper()) this.audiences = BukkitAudiences.create(this);
 
+        try {
+            PacketIdRegistry.verify();
+        } catch (ExceptionInInitializerError error) {
+            getLogger().log(Level.SEVERE, "Missing packet ids for this server version!", error.getCause());
+            getLogger().warning("Disabling plugin...");
+            Bukkit.getPluginManager().disablePlugin(this);
+            return;
+        }
+
         Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
            try {
                Class.forName("de.t0bx.sentienceEntity.network.version.registries.ItemIdRegistry");
@@ -141,14 +162,37 @@ public final class SentienceEntity extends JavaPlugin {
         this.updateManager = new UpdateManager(this);
         this.updateManager.checkForUpdate();
 
-        this.skinFetcher = new SkinFetcher(this);
+        this.storageBackend = this.configFileManager.getStorageType() == StorageType.BINARY
+                ? new BinaryStorageBackend(this)
+                : new JsonStorageBackend(this);
+        this.storageBackend.start(this.configFileManager.getSaveInterval());
+
+        this.skinFetcher = new SkinFetcher(
+                this,
+                TimeUnit.MINUTES.toMillis(this.configFileManager.getSkinCacheTtlMinutes()),
+                this.configFileManager.getSkinCacheMaxSize()
+        );
 
-        this.packetController = new PacketController();
+        this.packetController = new PacketController(this.configFileManager.isPacketQueueEnabled()
+                ? new PacketFlushQueue(this.configFileManager.getPacketQueueMaxPendingBytes())
+                : null);
 
         this.inventoryProvider = new InventoryProvider();
         this.npcCreation = new NpcCreation(this.inventoryProvider);
         this.npcshandler = new NpcsHandler();
         this.hologramManager = new HologramManager();
+        this.npcLookEngine = new NpcLookEngine(
+                this.npcshandler,
+                this.configFileManager.getNpcLookRadius(),
+                this.configFileManager.getNpcLookInterval()
+        );
+        this.npcTracker = new NpcTracker(
+                this.npcshandler,
+                this.hologramManager,
+                this.npcLookEngine,
+                this.configFileManager.getNpcViewDistance(),
+                this.configFileManager.getNpcTrackerInterval()
+        );
         this.sentiencePathHandler = new SentiencePathHandler();
 
         this.packetReceiveHandler = new PacketReceiveHandler(this.npcshandler, this.packetController);
@@ -163,14 +207,25 @@ public final class SentienceEntity extends JavaPlugin {
         pluginManager.registerEvents(new InventoryCloseListener(this.npcCreation), this);
         pluginManager.registerEvents(new PlayerClickNpcListener(this), this);
 
+        PacketFlushQueue flushQueue = this.packetController.getFlushQueue();
+        if (flushQueue != null) {
+            if (isPaper()) {
+                pluginManager.registerEvents(new ServerTickEndListener(flushQueue), this);
+            } else {
+                flushQueue.start(this);
+            }
+        }
+
         this.getCommand("se").setExecutor(new SentienceEntityCommand(this));
         this.getCommand("sp").setExecutor(new SentiencePathCommand(this));
         this.getCommand("sh").setExecutor(new SentienceHologramCommand(this));
 
         api = new SentienceAPI();
+        this.npcTracker.start();
+        this.npcLookEngine.start();
         this.getLogger().info("SentienceEntity has been enabled!");
 
-        for (SentienceNPC npc : npcshandler.getAllNPCs()) {
+        for (SentienceNPC npc : npcshandler.getNPCs()) {
             String pathName = npc.getBoundedPathName();
             if (pathName == null) continue;
             if (sentiencePathHandler.getPath(pathName).getType() != SentiencePathType.LOOP) continue;
@@ -181,12 +236,30 @@ public final class SentienceEntity extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (this.npcTracker != null) {
+            this.npcTracker.stop();
+        }
+        if (this.npcLookEngine != null) {
+            this.npcLookEngine.stop();
+        }
+        if (this.sentiencePathHandler != null) {
+            this.sentiencePathHandler.shutdown();
+        }
         if (this.hologramManager != null) {
             this.hologramManager.destroyAll();
         }
         if (this.npcshandler != null) {
             this.npcshandler.despawnAll();
         }
+        if (this.packetController != null && this.packetController.getFlushQueue() != null) {
+            this.packetController.getFlushQueue().stop();
+        }
+        if (this.storageBackend != null) {
+            this.storageBackend.close();
+        }
+        if (this.skinFetcher != null) {
+            this.skinFetcher.shutdown();
+        }
 
         for (Team team : Bukkit.getScoreboardManager().getMainScoreboard().getTeams()) {
             if (team.getName().startsWith("hidden_")) {
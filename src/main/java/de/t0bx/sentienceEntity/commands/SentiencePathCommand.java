@@ -207,6 +207,64 @@ public class SentiencePathCommand implements CommandExecutor, TabCompleter {
                 return true;
             }
 
+            case "setspeed" -> {
+                if (args.length != 3) {
+                    sendMessage(player, this.miniMessage.deserialize(this.prefix + "Usage: /sp setSpeed <pathname> <speed> <dark_gray>| <gray>Change the walking speed of a path"));
+                    return true;
+                }
+
+                String pathName = args[1];
+                if (!this.sentiencePathHandler.doesPathNameExist(pathName)) {
+                    sendMessage(player, this.miniMessage.deserialize(this.prefix + "The path '" + pathName + "' does not exist!"));
+                    return true;
+                }
+
+                double speed;
+                try {
+                    speed = Double.parseDouble(args[2]);
+                } catch (NumberFormatException ignored) {
+                    speed = -1;
+                }
+
+                if (!(speed > 0) || speed > SentiencePathHandler.MAX_SPEED) {
+                    sendMessage(player, this.miniMessage.deserialize(this.prefix + "<red>Invalid speed '" + args[2] + "'! It must be greater than 0 and not greater than " + SentiencePathHandler.MAX_SPEED + "."));
+                    return true;
+                }
+
+                this.sentiencePathHandler.updateSpeed(pathName, speed);
+                sendMessage(player, this.miniMessage.deserialize(this.prefix + "Successfully changed the speed of path '" + pathName + "' to '" + speed + "'"));
+                return true;
+            }
+
+            case "pause", "resume", "stop" -> {
+                String action = args[0].toLowerCase();
+                if (args.length != 2) {
+                    sendMessage(player, this.miniMessage.deserialize(this.prefix + "Usage: /sp " + action + " <npcname> <dark_gray>| <gray>" + capitalize(action) + " the path of a npc"));
+                    return true;
+                }
+
+                String npcName = args[1];
+                SentienceNPC npc = this.npcsHandler.getNPC(npcName);
+                if (npc == null) {
+                    sendMessage(player, this.miniMessage.deserialize(this.prefix + "The npc '" + npcName + "' does not exist!"));
+                    return true;
+                }
+
+                boolean changed = switch (action) {
+                    case "pause" -> this.sentiencePathHandler.pausePath(npc.getEntityId());
+                    case "resume" -> this.sentiencePathHandler.resumePath(npc.getEntityId());
+                    default -> this.sentiencePathHandler.stopPath(npc.getEntityId());
+                };
+
+                if (!changed) {
+                    sendMessage(player, this.miniMessage.deserialize(this.prefix + "The npc '" + npcName + "' has no path to " + action + "!"));
+                    return true;
+                }
+
+                sendMessage(player, this.miniMessage.deserialize(this.prefix + "Successfully " + (action.equals("stop") ? "stopped" : action + "d") + " the path of npc '" + npcName + "'"));
+                return true;
+            }
+
             default -> sendHelp(player);
         }
         return false;
@@ -221,6 +279,14 @@ public class SentiencePathCommand implements CommandExecutor, TabCompleter {
         sendMessage(player, this.miniMessage.deserialize(this.prefix + "Usage: /sp list <dark_gray>| <gray>List all paths"));
         sendMessage(player, this.miniMessage.deserialize(this.prefix + "Usage: /sp apply <pathname> <npcname> <dark_gray>| <gray>Apply the path to a npc"));
         sendMessage(player, this.miniMessage.deserialize(this.prefix + "Usage: /sp setTrigger <pathname> <Trigger Type> <dark_gray>| <gray>Change the trigger type of a path"));
+        sendMessage(player, this.miniMessage.deserialize(this.prefix + "Usage: /sp setSpeed <pathname> <speed> <dark_gray>| <gray>Change the walking speed of a path"));
+        sendMessage(player, this.miniMessage.deserialize(this.prefix + "Usage: /sp pause <npcname> <dark_gray>| <gray>Pause the path of a npc"));
+        sendMessage(player, this.miniMessage.deserialize(this.prefix + "Usage: /sp resume <npcname> <dark_gray>| <gray>Resume the path of a npc"));
+        sendMessage(player, this.miniMessage.deserialize(this.prefix + "Usage: /sp stop <npcname> <dark_gray>| <gray>Stop the path of a npc"));
+    }
+
+    private String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
     }
 
     private void handleCreatePath(Player player, String pathName, SentiencePathType pathType) {
@@ -326,7 +392,7 @@ public class SentiencePathCommand implements CommandExecutor, TabCompleter {
         if (!(sender instanceof Player)) return List.of();
 
         if (args.length == 1) {
-            return List.of("create", "remove", "addPoint", "setTrigger", "removePoint", "listPoints", "list", "apply");
+            return List.of("create", "remove", "addPoint", "setTrigger", "removePoint", "listPoints", "list", "apply", "setSpeed", "pause", "resume", "stop");
         }
 
         String subCommand = args[0].toLowerCase();
@@ -386,6 +452,22 @@ public class SentiencePathCommand implements CommandExecutor, TabCompleter {
                 yield Collections.emptyList();
             }
 
+            case "setspeed" -> {
+                if (args.length == 2) {
+                    yield this.sentiencePathHandler.getPaths().keySet().stream().toList();
+                } else if (args.length == 3) {
+                    yield List.of("0.5", "1.0", "2.0");
+                }
+                yield Collections.emptyList();
+            }
+
+            case "pause", "resume", "stop" -> {
+                if (args.length == 2) {
+                    yield this.npcsHandler.getNPCNames();
+                }
+                yield Collections.emptyList();
+            }
+
             default -> Collections.emptyList();
         };
     }
@@ -1,7 +1,10 @@
 package de.t0bx.sentienceEntity.config;
 
+import com.google.gson.JsonPrimitive;
 import de.t0bx.sentienceEntity.SentienceEntity;
+import de.t0bx.sentienceEntity.storage.StorageType;
 import de.t0bx.sentienceEntity.utils.JsonDocument;
+import lombok.Getter;
 
 import java.io.File;
 import java.io.IOException;
@@ -11,6 +14,36 @@ public class ConfigFileManager {
     private final File configFile;
     private JsonDocument jsonDocument;
 
+    @Getter
+    private double npcViewDistance = 48.0;
+
+    @Getter
+    private int npcTrackerInterval = 10;
+
+    @Getter
+    private double npcLookRadius = 10.0;
+
+    @Getter
+    private int npcLookInterval = 2;
+
+    @Getter
+    private int saveInterval = 100;
+
+    @Getter
+    private StorageType storageType = StorageType.JSON;
+
+    @Getter
+    private boolean packetQueueEnabled = false;
+
+    @Getter
+    private int packetQueueMaxPendingBytes = 65536;
+
+    @Getter
+    private int skinCacheTtlMinutes = 1440;
+
+    @Getter
+    private int skinCacheMaxSize = 1000;
+
     public ConfigFileManager() {
         this.configFile = new File(SentienceEntity.getInstance().getDataFolder(), "config.json");
         this.loadConfig();
@@ -22,16 +55,53 @@ public class ConfigFileManager {
 
             if (this.jsonDocument == null) {
                 this.jsonDocument = new JsonDocument();
+            }
 
-                this.jsonDocument.setBoolean("bStats", true);
+            boolean changed = this.addDefault("bStats", new JsonPrimitive(true));
+            changed |= this.addDefault("npc-view-distance", new JsonPrimitive(48.0));
+            changed |= this.addDefault("npc-tracker-interval", new JsonPrimitive(10));
+            changed |= this.addDefault("npc-look-radius", new JsonPrimitive(10.0));
+            changed |= this.addDefault("npc-look-interval", new JsonPrimitive(2));
+            changed |= this.addDefault("save-interval", new JsonPrimitive(100));
+            changed |= this.addDefault("storage-type", new JsonPrimitive("json"));
+            changed |= this.addDefault("packet-queue-enabled", new JsonPrimitive(false));
+            changed |= this.addDefault("packet-queue-max-pending-bytes", new JsonPrimitive(65536));
+            changed |= this.addDefault("skin-cache-ttl-minutes", new JsonPrimitive(1440));
+            changed |= this.addDefault("skin-cache-max-size", new JsonPrimitive(1000));
 
+            if (changed) {
                 this.jsonDocument.save(this.configFile);
             }
 
             SentienceEntity.getInstance().setBStatsEnabled(this.jsonDocument.get("bStats").getAsBoolean());
+            this.npcViewDistance = Math.max(1.0, this.jsonDocument.get("npc-view-distance").getAsDouble());
+            this.npcTrackerInterval = Math.max(1, this.jsonDocument.get("npc-tracker-interval").getAsInt());
+            this.npcLookRadius = Math.max(1.0, this.jsonDocument.get("npc-look-radius").getAsDouble());
+            this.npcLookInterval = Math.max(1, this.jsonDocument.get("npc-look-interval").getAsInt());
+            this.saveInterval = Math.max(1, this.jsonDocument.get("save-interval").getAsInt());
+            this.storageType = StorageType.fromName(this.jsonDocument.get("storage-type").getAsString());
+            this.packetQueueEnabled = this.jsonDocument.get("packet-queue-enabled").getAsBoolean();
+            this.packetQueueMaxPendingBytes = Math.max(1024, this.jsonDocument.get("packet-queue-max-pending-bytes").getAsInt());
+            this.skinCacheTtlMinutes = Math.max(1, this.jsonDocument.get("skin-cache-ttl-minutes").getAsInt());
+            this.skinCacheMaxSize = Math.max(1, this.jsonDocument.get("skin-cache-max-size").getAsInt());
         } catch (IOException exception) {
             SentienceEntity.getInstance().getLogger().warning("Failed to load config file: " + exception.getMessage());
             exception.printStackTrace();
         }
     }
+
+    /**
+     * Adds the given value to the config if the key is not present yet. This keeps
+     * existing config files up to date when new settings are introduced.
+     *
+     * @param key the key of the setting
+     * @param value the default value of the setting
+     * @return {@code true} if the default was added, {@code false} if the key already existed
+     */
+    private boolean addDefault(String key, JsonPrimitive value) {
+        if (this.jsonDocument.hasKey(key)) return false;
+
+        this.jsonDocument.set(key, value);
+        return true;
+    }
 }
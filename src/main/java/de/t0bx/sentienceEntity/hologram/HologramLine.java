@@ -30,9 +30,14 @@
 
 package de.t0bx.sentienceEntity.hologram;
 
+import de.t0bx.sentienceEntity.network.utils.PacketUtils;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Location;
 import org.bukkit.inventory.ItemStack;
 
@@ -46,8 +51,40 @@ public class HologramLine {
     private Location location;
     private ItemStack itemStack;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private byte[] encodedText;
+
     public HologramLine(int entityId, UUID hologramUUID) {
         this.entityId = entityId;
         this.hologramUUID = hologramUUID;
     }
+
+    /**
+     * Sets the MiniMessage text of this line and discards the cached encoded text.
+     *
+     * @param text the new text of the line
+     */
+    public void setText(String text) {
+        this.text = text;
+        this.encodedText = null;
+    }
+
+    /**
+     * Returns the text of this line as an encoded optional text component, ready to be
+     * written into metadata packets with
+     * {@link de.t0bx.sentienceEntity.network.metadata.MetadataType#ENCODED_OPTIONAL_TEXT_COMPONENT}.
+     * The text is parsed and encoded once and cached until it changes, so spawning the line
+     * for further players does not parse or serialize the text again.
+     *
+     * @return the encoded text of the line
+     */
+    public byte[] getEncodedText() {
+        if (this.encodedText == null) {
+            this.encodedText = PacketUtils.encodeOptionalComponent(MiniMessage.miniMessage().deserialize(this.text));
+        }
+        return this.encodedText;
+    }
 }
@@ -32,35 +32,35 @@ package de.t0bx.sentienceEntity.hologram;
 
 import com.google.gson.JsonObject;
 import de.t0bx.sentienceEntity.SentienceEntity;
+import de.t0bx.sentienceEntity.network.PacketPlayer;
 import de.t0bx.sentienceEntity.npc.NpcsHandler;
 import de.t0bx.sentienceEntity.npc.SentienceNPC;
-import de.t0bx.sentienceEntity.utils.JsonDocument;
+import de.t0bx.sentienceEntity.storage.StorageBackend;
+import de.t0bx.sentienceEntity.storage.StorageCategory;
 import de.t0bx.sentienceEntity.utils.ReflectionUtils;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class HologramManager {
 
-    private final File file;
-    private JsonDocument jsonDocument;
+    private final StorageBackend storage;
     private final NpcsHandler npcshandler;
 
     private final Map<String, SentienceHologram> cachedHolograms = new ConcurrentHashMap<>();
 
     public HologramManager() {
-        this.file = new File(SentienceEntity.getInstance().getDataFolder(), "holograms.json");
+        this.storage = SentienceEntity.getInstance().getStorageBackend();
         this.npcshandler = SentienceEntity.getInstance().getNpcshandler();
 
+        Map<String, JsonObject> records = this.storage.loadAll(StorageCategory.HOLOGRAMS);
         for (String npcNames : this.npcshandler.getNPCNames()) {
-            this.loadLinesFromFile(npcNames);
+            this.loadLinesFromFile(npcNames, records.get(npcNames));
         }
     }
 
@@ -97,18 +97,24 @@ public class HologramManager {
     /**
      * Creates a new hologram for the specified NPC at the given location.
      * If a hologram with the specified NPC name already exists, this method does nothing.
+     * The hologram is shown to every player the NPC is currently spawned for.
      *
      * @param npcName the name of the NPC for which the hologram is being created
      */
     public void createHologram(String npcName) {
         if (this.cachedHolograms.containsKey(npcName)) return;
 
+        SentienceNPC npc = this.npcshandler.getNPC(npcName);
         SentienceHologram hologram = new SentienceHologram(
                 ReflectionUtils.generateValidMinecraftEntityId(),
                 UUID.randomUUID(),
-                this.npcshandler.getNPC(npcName)
+                npc
         );
         this.cachedHolograms.put(npcName, hologram);
+
+        for (PacketPlayer viewer : npc.getChannels()) {
+            hologram.spawn(viewer.getPlayer());
+        }
     }
 
     /**
@@ -265,77 +271,24 @@ public class HologramManager {
     }
 
     private void saveLineToFile(String npcName, String text) {
-        try {
-            this.jsonDocument = JsonDocument.loadDocument(this.file);
-
-            if (this.jsonDocument == null) {
-                this.jsonDocument = new JsonDocument();
-            }
-
-            JsonObject npcObject;
-            if (jsonDocument.hasKey(npcName)) {
-                npcObject = jsonDocument.get(npcName).getAsJsonObject();
-            } else {
-                npcObject = new JsonObject();
-                jsonDocument.set(npcName, npcObject);
-            }
-
+        this.storage.update(StorageCategory.HOLOGRAMS, npcName, npcObject -> {
             int nextIndex = 0;
             while (npcObject.has(String.valueOf(nextIndex))) {
                 nextIndex++;
             }
 
             npcObject.addProperty(String.valueOf(nextIndex), text);
-
-            jsonDocument.save(this.file);
-        } catch (IOException e) {
-            SentienceEntity.getInstance().getLogger().severe("Failed to save hologram line: " + e.getMessage());
-            e.printStackTrace();
-        }
+        });
     }
 
     private void saveLineToFile(String npcName, ItemStack itemStack) {
-        try {
-            this.jsonDocument = JsonDocument.loadDocument(this.file);
-
-            if (this.jsonDocument == null) {
-                this.jsonDocument = new JsonDocument();
-            }
-
-            JsonObject npcObject;
-            if (jsonDocument.hasKey(npcName)) {
-                npcObject = jsonDocument.get(npcName).getAsJsonObject();
-            } else {
-                npcObject = new JsonObject();
-                jsonDocument.set(npcName, npcObject);
-            }
-
-            int nextIndex = 0;
-            while (npcObject.has(String.valueOf(nextIndex))) {
-                nextIndex++;
-            }
-
-            npcObject.addProperty(String.valueOf(nextIndex), "ITEM_" + itemStack.getType().name().toUpperCase());
-
-            jsonDocument.save(this.file);
-        } catch (IOException e) {
-            SentienceEntity.getInstance().getLogger().severe("Failed to save hologram line: " + e.getMessage());
-            e.printStackTrace();
-        }
+        this.saveLineToFile(npcName, "ITEM_" + itemStack.getType().name().toUpperCase());
     }
 
     private void removeLineFromFile(String npcName, int index) {
-        try {
-            this.jsonDocument = JsonDocument.loadDocument(this.file);
-
-            if (this.jsonDocument == null) return;
-
-            if (!this.jsonDocument.hasKey(npcName)) return;
-
-            JsonObject npcObject = this.jsonDocument.get(npcName).getAsJsonObject();
-
-            if (!npcObject.has(String.valueOf(index))) return;
+        if (!this.hasLineRecord(npcName, index)) return;
 
+        this.storage.update(StorageCategory.HOLOGRAMS, npcName, npcObject -> {
             npcObject.remove(String.valueOf(index));
 
             int currentIndex = index + 1;
@@ -345,99 +298,63 @@ public class HologramManager {
                 npcObject.addProperty(String.valueOf(currentIndex - 1), lineText);
                 currentIndex++;
             }
-
-            this.jsonDocument.save(this.file);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
+        });
     }
 
     private void updateLineInFile(String npcName, int index, String text) {
-        try {
-            this.jsonDocument = JsonDocument.loadDocument(this.file);
-
-            if (this.jsonDocument == null) return;
-
-            if (!this.jsonDocument.hasKey(npcName)) return;
-
-            JsonObject npcObject = this.jsonDocument.get(npcName).getAsJsonObject();
+        if (!this.hasLineRecord(npcName, index)) return;
 
-            if (!npcObject.has(String.valueOf(index))) return;
-
-            npcObject.addProperty(String.valueOf(index), text);
-
-            this.jsonDocument.save(this.file);
-        } catch (IOException e) {
-            SentienceEntity.getInstance().getLogger().severe("Failed to update hologram line: " + e.getMessage());
-            e.printStackTrace();
-        }
+        this.storage.update(StorageCategory.HOLOGRAMS, npcName, npcObject -> npcObject.addProperty(String.valueOf(index), text));
     }
 
     private void updateLineInFile(String npcName, int index, ItemStack itemStack) {
-        try {
-            this.jsonDocument = JsonDocument.loadDocument(this.file);
-
-            if (this.jsonDocument == null) return;
-
-            if (!this.jsonDocument.hasKey(npcName)) return;
-
-            JsonObject npcObject = this.jsonDocument.get(npcName).getAsJsonObject();
-
-            if (!npcObject.has(String.valueOf(index))) return;
-
-            npcObject.addProperty(String.valueOf(index), "ITEM_" + itemStack.getType().name().toUpperCase());
-
-            this.jsonDocument.save(this.file);
-        } catch (IOException e) {
-            SentienceEntity.getInstance().getLogger().severe("Failed to update hologram line: " + e.getMessage());
-            e.printStackTrace();
-        }
+        this.updateLineInFile(npcName, index, "ITEM_" + itemStack.getType().name().toUpperCase());
     }
 
-    private void loadLinesFromFile(String npcName) {
-        this.jsonDocument = JsonDocument.loadDocument(file);
+    /**
+     * Checks whether the stored hologram of the given NPC has a line at the given index.
+     * Lines of holograms that were added without persisting them have no stored record.
+     *
+     * @param npcName the name of the NPC whose stored hologram is checked
+     * @param index the index of the line
+     * @return true if the line is stored; false otherwise
+     */
+    private boolean hasLineRecord(String npcName, int index) {
+        JsonObject npcObject = this.storage.load(StorageCategory.HOLOGRAMS, npcName);
+        return npcObject != null && npcObject.has(String.valueOf(index));
+    }
 
-        if (this.jsonDocument == null) return;
+    private void loadLinesFromFile(String npcName, JsonObject npcObject) {
+        if (npcObject == null) return;
 
-        if (!jsonDocument.hasKey(npcName)) return;
+        int lineCount = 0;
+        while (npcObject.has(String.valueOf(lineCount))) {
+            lineCount++;
+        }
 
-        JsonObject npcObject = jsonDocument.get(npcName).getAsJsonObject();
+        int nextEntityId = ReflectionUtils.reserveEntityIds(lineCount + 1);
 
         SentienceNPC npc = this.npcshandler.getNPC(npcName);
         SentienceHologram hologram = new SentienceHologram(
-                ReflectionUtils.generateValidMinecraftEntityId(),
+                nextEntityId++,
                 UUID.randomUUID(),
                 npc
         );
 
-        int index = 0;
-        while (npcObject.has(String.valueOf(index))) {
+        for (int index = 0; index < lineCount; index++) {
             String lineText = npcObject.get(String.valueOf(index)).getAsString();
             if (lineText.startsWith("ITEM_")) {
-                hologram.addLine(new ItemStack(Material.valueOf(lineText.substring(5))));
+                hologram.addLine(nextEntityId++, new ItemStack(Material.valueOf(lineText.substring(5))));
             } else {
-                hologram.addLine(lineText);
+                hologram.addLine(nextEntityId++, lineText);
             }
-            index++;
         }
 
         this.cachedHolograms.put(npcName, hologram);
     }
 
     private void removeLinesFromFile(String npcName) {
-        try {
-            this.jsonDocument = JsonDocument.loadDocument(file);
-
-            if (this.jsonDocument == null) return;
-
-            if (jsonDocument.hasKey(npcName)) {
-                jsonDocument.remove(npcName);
-                jsonDocument.save(this.file);
-            }
-        } catch (IOException e) {
-            SentienceEntity.getInstance().getLogger().severe("Failed to remove hologram lines: " + e.getMessage());
-            e.printStackTrace();
-        }
+        this.storage.delete(StorageCategory.HOLOGRAMS, npcName);
     }
 
     public void destroyAll() {
@@ -32,6 +32,7 @@ package de.t0bx.sentienceEntity.hologram;
 
 import de.t0bx.sentienceEntity.SentienceEntity;
 import de.t0bx.sentienceEntity.boundingbox.BoundingBoxRegistry;
+import de.t0bx.sentienceEntity.network.PacketController;
 import de.t0bx.sentienceEntity.network.PacketPlayer;
 import de.t0bx.sentienceEntity.network.metadata.MetadataEntry;
 import de.t0bx.sentienceEntity.network.metadata.MetadataType;
@@ -40,8 +41,6 @@ import de.t0bx.sentienceEntity.npc.SentienceNPC;
 import de.t0bx.sentienceEntity.utils.ReflectionUtils;
 import lombok.Getter;
 import lombok.Setter;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Location;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
@@ -51,7 +50,6 @@ import java.util.*;
 
 @Getter
 public class SentienceHologram {
-    private final MiniMessage miniMessage = MiniMessage.miniMessage();
     private final double height;
     private final double LINE_HEIGHT = 0.25;
     private final double ITEM_HEIGHT = 0.8;
@@ -96,8 +94,18 @@ public class SentienceHologram {
      * @param line the text content of the new hologram line to be added
      */
     public void addLine(String line) {
+        addLine(ReflectionUtils.generateValidMinecraftEntityId(), line);
+    }
+
+    /**
+     * Adds a new line to the hologram display using an already reserved entity ID,
+     * see {@link ReflectionUtils#reserveEntityIds(int)}.
+     *
+     * @param lineEntityId the reserved entity ID of the new line
+     * @param line the text content of the new hologram line to be added
+     */
+    void addLine(int lineEntityId, String line) {
         int lineIndex = hologramLines.size();
-        int lineEntityId = ReflectionUtils.generateValidMinecraftEntityId();
 
         HologramLine hologramLine = new HologramLine(lineEntityId, this.uuid);
         hologramLine.setText(line);
@@ -107,7 +115,7 @@ public class SentienceHologram {
         lineLocation.add(0, calculateYOffset(lineIndex), 0);
         hologramLine.setLocation(lineLocation);
 
-        spawnLine(hologramLine);
+        spawnLine(hologramLine, this.channels);
 
         updateAllLinePositions();
     }
@@ -119,8 +127,18 @@ public class SentienceHologram {
      * @param itemStack the {@link ItemStack} to be displayed as the new hologram line
      */
     public void addLine(ItemStack itemStack) {
+        addLine(ReflectionUtils.generateValidMinecraftEntityId(), itemStack);
+    }
+
+    /**
+     * Adds a new item-based line to the hologram display using an already reserved entity ID,
+     * see {@link ReflectionUtils#reserveEntityIds(int)}.
+     *
+     * @param lineEntityId the reserved entity ID of the new line
+     * @param itemStack the {@link ItemStack} to be displayed as the new hologram line
+     */
+    void addLine(int lineEntityId, ItemStack itemStack) {
         int lineIndex = hologramLines.size();
-        int lineEntityId = ReflectionUtils.generateValidMinecraftEntityId();
 
         HologramLine hologramLine = new HologramLine(lineEntityId, this.uuid);
         hologramLine.setItemStack(itemStack);
@@ -130,21 +148,23 @@ public class SentienceHologram {
         lineLocation.add(0, calculateYOffset(lineIndex), 0);
         hologramLine.setLocation(lineLocation);
 
-        spawnLine(hologramLine);
+        spawnLine(hologramLine, this.channels);
 
         updateAllLinePositions();
     }
 
     /**
      * Spawns a hologram line at its designated location and sends the appropriate entity
-     * and metadata packets to all connected players. This method handles both text-based
+     * and metadata packets to the given receivers. This method handles both text-based
      * and item-based hologram lines, creating the respective entity types and associating
      * the necessary metadata.
      *
      * @param line the {@link HologramLine} to be spawned. This line contains the entity ID,
      *             location, and other attributes needed to render the line in the hologram.
+     * @param receivers the players that should receive the spawn and metadata packets
      */
-    private void spawnLine(HologramLine line) {
+    private void spawnLine(HologramLine line, Collection<PacketPlayer> receivers) {
+        PacketController packetController = SentienceEntity.getInstance().getPacketController();
         Location location = line.getLocation();
         List<MetadataEntry> metadataEntries = new ArrayList<>();
         metadataEntries.add(new MetadataEntry(0, MetadataType.BYTE, (byte) 32));
@@ -163,21 +183,13 @@ public class SentienceHologram {
                     (short) 0
             );
 
-            for (PacketPlayer player : channels) {
-                player.sendPacket(addEntityPacket);
-            }
-
-
-            Component component = MiniMessage.miniMessage().deserialize(line.getText());
             metadataEntries.add(new MetadataEntry(15, MetadataType.BYTE, (byte) 25));
-            metadataEntries.add(new MetadataEntry(2, MetadataType.OPTIONAL_TEXT_COMPONENT, Optional.of(component)));
+            metadataEntries.add(new MetadataEntry(2, MetadataType.ENCODED_OPTIONAL_TEXT_COMPONENT, line.getEncodedText()));
             metadataEntries.add(new MetadataEntry(3, MetadataType.BOOLEAN, true));
 
             var metadata = new PacketSetEntityMetadata(line.getEntityId(), metadataEntries);
 
-            for (PacketPlayer player : channels) {
-                player.sendPacket(metadata);
-            }
+            packetController.broadcast(receivers, addEntityPacket, metadata);
             return;
         }
 
@@ -193,17 +205,11 @@ public class SentienceHologram {
                 (short) 0
         );
 
-        for (PacketPlayer player : channels) {
-            player.sendPacket(addEntityPacket);
-        }
-
         metadataEntries.add(new MetadataEntry(8, MetadataType.SLOT, line.getItemStack()));
 
         var metadata = new PacketSetEntityMetadata(line.getEntityId(), metadataEntries);
 
-        for (PacketPlayer player : channels) {
-            player.sendPacket(metadata);
-        }
+        packetController.broadcast(receivers, addEntityPacket, metadata);
     }
 
     /**
@@ -220,9 +226,7 @@ public class SentienceHologram {
         if (line == null) return;
 
         var removeEntityPacket = new PacketRemoveEntities(List.of(line.getEntityId()));
-        for (PacketPlayer player : channels) {
-            player.sendPacket(removeEntityPacket);
-        }
+        SentienceEntity.getInstance().getPacketController().broadcast(this.channels, removeEntityPacket);
 
         updateLinesAfterRemoval();
     }
@@ -253,6 +257,7 @@ public class SentienceHologram {
      * vertical stacking of lines within the hologram structure.
      */
     private void updateAllLinePositions() {
+        PacketController packetController = SentienceEntity.getInstance().getPacketController();
         List<Map.Entry<Integer, HologramLine>> sortedLines = new ArrayList<>(hologramLines.entrySet());
         sortedLines.sort(Map.Entry.comparingByKey());
 
@@ -272,9 +277,7 @@ public class SentienceHologram {
                     true
             );
 
-            for (PacketPlayer player : channels) {
-                player.sendPacket(teleportPacket);
-            }
+            packetController.broadcast(this.channels, teleportPacket);
         }
     }
 
@@ -352,15 +355,11 @@ public class SentienceHologram {
 
         line.setText(newText);
 
-        Component component = miniMessage.deserialize(line.getText());
-
         var metadata = new PacketSetEntityMetadata(line.getEntityId(), List.of(
-                new MetadataEntry(2, MetadataType.OPTIONAL_TEXT_COMPONENT, Optional.of(component))
+                new MetadataEntry(2, MetadataType.ENCODED_OPTIONAL_TEXT_COMPONENT, line.getEncodedText())
         ));
 
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(metadata);
-        }
+        SentienceEntity.getInstance().getPacketController().broadcast(this.channels, metadata);
     }
 
     public void updateLineItemStack(int index, ItemStack newItemStack) {
@@ -375,9 +374,7 @@ public class SentienceHologram {
                 new MetadataEntry(8, MetadataType.SLOT, newItemStack)
         ));
 
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(metadata);
-        }
+        SentienceEntity.getInstance().getPacketController().broadcast(this.channels, metadata);
     }
 
     /**
@@ -397,12 +394,13 @@ public class SentienceHologram {
         if (npc.getPermission() != null && !player.hasPermission(npc.getPermission())) return;
 
         if (hasSpawned(packetPlayer)) return;
-        if (!player.getWorld().getName().equals(this.getLocation().getWorld().getName())) return;
+        if (!player.getWorld().getUID().equals(this.getLocation().getWorld().getUID())) return;
 
         channels.add(packetPlayer);
 
+        List<PacketPlayer> receiver = List.of(packetPlayer);
         for (HologramLine line : hologramLines.values()) {
-            spawnLine(line);
+            spawnLine(line, receiver);
         }
     }
 
@@ -421,14 +419,36 @@ public class SentienceHologram {
 
         if (!hasSpawned(packetPlayer)) return;
 
+        List<Integer> lineEntityIds = new ArrayList<>(hologramLines.size());
         for (HologramLine line : hologramLines.values()) {
-            var destroyEntity = new PacketRemoveEntities(List.of(line.getEntityId()));
-            packetPlayer.sendPacket(destroyEntity);
+            lineEntityIds.add(line.getEntityId());
+        }
+
+        if (!lineEntityIds.isEmpty()) {
+            packetPlayer.sendPacket(new PacketRemoveEntities(lineEntityIds));
         }
 
         channels.remove(packetPlayer);
     }
 
+    /**
+     * Removes the specified player from the players the hologram is spawned for, without sending
+     * any packet. If the hologram was spawned for the player, the entity ids of all its lines are
+     * added to the given list, so the caller can remove them together with other entities.
+     *
+     * @param packetPlayer the {@link PacketPlayer} to remove
+     * @param removedEntityIds the list the entity ids of the hologram lines are added to
+     * @return {@code true} if the hologram was spawned for the player, {@code false} otherwise
+     */
+    public boolean removeViewer(PacketPlayer packetPlayer, List<Integer> removedEntityIds) {
+        if (!this.channels.remove(packetPlayer)) return false;
+
+        for (HologramLine line : hologramLines.values()) {
+            removedEntityIds.add(line.getEntityId());
+        }
+        return true;
+    }
+
     /**
      * Destroys the hologram by removing all its lines and clearing associated data structures.
      * <p>
@@ -441,11 +461,13 @@ public class SentienceHologram {
      * structures are reset for potential reuse or disposal.
      */
     public void destroy() {
+        List<Integer> lineEntityIds = new ArrayList<>(hologramLines.size());
         for (HologramLine line : hologramLines.values()) {
-            var destroyEntity = new PacketRemoveEntities(List.of(line.getEntityId()));
-            for (PacketPlayer player : channels) {
-                player.sendPacket(destroyEntity);
-            }
+            lineEntityIds.add(line.getEntityId());
+        }
+
+        if (!lineEntityIds.isEmpty()) {
+            SentienceEntity.getInstance().getPacketController().broadcast(this.channels, new PacketRemoveEntities(lineEntityIds));
         }
         channels.clear();
         hologramLines.clear();
@@ -34,6 +34,7 @@ import de.t0bx.sentienceEntity.SentienceEntity;
 import de.t0bx.sentienceEntity.hologram.HologramManager;
 import de.t0bx.sentienceEntity.npc.NpcsHandler;
 import de.t0bx.sentienceEntity.npc.SentienceNPC;
+import de.t0bx.sentienceEntity.npc.tracker.NpcTracker;
 import de.t0bx.sentienceEntity.path.SentiencePathHandler;
 import de.t0bx.sentienceEntity.path.data.SentiencePathType;
 import org.bukkit.entity.Player;
@@ -47,10 +48,12 @@ public class NpcSpawnListener implements Listener {
 
     private final NpcsHandler npcsHandler;
     private final HologramManager hologramManager;
+    private final NpcTracker npcTracker;
 
     public NpcSpawnListener() {
         this.npcsHandler = SentienceEntity.getInstance().getNpcshandler();
         this.hologramManager = SentienceEntity.getInstance().getHologramManager();
+        this.npcTracker = SentienceEntity.getInstance().getNpcTracker();
     }
 
     @EventHandler
@@ -58,8 +61,7 @@ public class NpcSpawnListener implements Listener {
         Player player = event.getPlayer();
         SentienceEntity.getInstance().getPacketReceiveHandler().injectPlayer(player);
 
-        this.npcsHandler.spawnAllNPCs(player);
-        this.hologramManager.showAllHolograms(player);
+        this.npcTracker.updatePlayer(player);
     }
 
     @EventHandler
@@ -69,6 +71,8 @@ public class NpcSpawnListener implements Listener {
 
         this.npcsHandler.despawnAllNPCs(player);
         this.hologramManager.unShowAllHolograms(player);
+        this.npcTracker.removePlayer(player);
+        SentienceEntity.getInstance().getNpcLookEngine().removePlayer(player);
         SentienceEntity.getInstance().getPacketController().removePlayer(player);
     }
 
@@ -76,9 +80,6 @@ public class NpcSpawnListener implements Listener {
     public void onWorldSwitch(PlayerChangedWorldEvent event) {
         Player player = event.getPlayer();
 
-        this.npcsHandler.despawnAllNPCs(player);
-        this.hologramManager.unShowAllHolograms(player);
-        this.npcsHandler.spawnAllNPCs(player);
-        this.hologramManager.showAllHolograms(player);
+        this.npcTracker.changeWorld(player);
     }
 }
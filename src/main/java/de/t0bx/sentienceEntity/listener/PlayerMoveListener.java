@@ -31,29 +31,27 @@
 package de.t0bx.sentienceEntity.listener;
 
 import de.t0bx.sentienceEntity.SentienceEntity;
-import de.t0bx.sentienceEntity.npc.NpcsHandler;
-import de.t0bx.sentienceEntity.npc.SentienceNPC;
-import org.bukkit.entity.Player;
+import de.t0bx.sentienceEntity.npc.tracker.NpcLookEngine;
+import org.bukkit.Location;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
 
 public class PlayerMoveListener implements Listener {
 
-    private final NpcsHandler npcsHandler;
+    private final NpcLookEngine lookEngine;
 
     public PlayerMoveListener() {
-        this.npcsHandler = SentienceEntity.getInstance().getNpcshandler();
+        this.lookEngine = SentienceEntity.getInstance().getNpcLookEngine();
     }
 
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
-        Player player = event.getPlayer();
+        Location from = event.getFrom();
+        Location to = event.getTo();
 
-        for (SentienceNPC npc : this.npcsHandler.getAllNPCs()) {
-            if (npc.isShouldLookAtPlayer()) {
-                npc.updateLookingAtPlayer(player);
-            }
-        }
+        if (from.getX() == to.getX() && from.getY() == to.getY() && from.getZ() == to.getZ()) return;
+
+        this.lookEngine.markMoved(event.getPlayer());
     }
 }
@@ -50,10 +50,10 @@ public class PlayerToggleSneakListener implements Listener {
     public void onToggleSneak(PlayerToggleSneakEvent event) {
         Player player = event.getPlayer();
 
-        for (SentienceNPC npc : this.npcsHandler.getAllNPCs()) {
-            if (npc.isShouldSneakWithPlayer()) {
-                npc.updateSneaking(player);
-            }
+        for (SentienceNPC npc : this.npcsHandler.getNPCs(player.getWorld())) {
+            if (!npc.isShouldSneakWithPlayer()) continue;
+
+            npc.updateSneaking(player);
         }
     }
 }
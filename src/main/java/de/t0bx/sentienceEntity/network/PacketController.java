@@ -30,9 +30,16 @@
 
 package de.t0bx.sentienceEntity.network;
 
+import de.t0bx.sentienceEntity.network.wrapper.PacketBundle;
+import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
+import lombok.Getter;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -40,6 +47,30 @@ public class PacketController {
     private final Map<Player, PacketPlayer> cachedChannels = new ConcurrentHashMap<>();
     private final Map<Channel, Player> mappedChannels = new ConcurrentHashMap<>();
 
+    /**
+     * The queue flushing the channels of all players at the end of the tick,
+     * or {@code null} if every send is flushed immediately.
+     */
+    @Getter
+    private final @Nullable PacketFlushQueue flushQueue;
+
+    /**
+     * Constructs a new PacketController that flushes every send immediately.
+     */
+    public PacketController() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new PacketController.
+     *
+     * @param flushQueue the queue flushing the channels of all players at the end of the tick,
+     *                   or {@code null} to flush every send immediately
+     */
+    public PacketController(@Nullable PacketFlushQueue flushQueue) {
+        this.flushQueue = flushQueue;
+    }
+
     /**
      * Retrieves the {@link PacketPlayer} instance associated with the specified {@link Player}.
      * If a {@link PacketPlayer} is already cached for the given player, it returns the cached instance.
@@ -53,7 +84,7 @@ public class PacketController {
             return cachedChannels.get(player);
         }
 
-        PacketPlayer packetPlayer = new PacketPlayer(player);
+        PacketPlayer packetPlayer = new PacketPlayer(player, this.flushQueue);
         cachedChannels.put(player, packetPlayer);
         mappedChannels.put(packetPlayer.getChannel(), player);
         return packetPlayer;
@@ -82,4 +113,78 @@ public class PacketController {
             this.mappedChannels.remove(packetPlayer.getChannel());
         }
     }
+
+    /**
+     * Sends the given packet to every {@link PacketPlayer} in the provided collection.
+     * The packet is encoded exactly once and each receiver gets a retained duplicate of
+     * the encoded buffer, so the encoding cost stays the same no matter how many players
+     * are watching. The shared buffer is released once every channel holds its own
+     * reference to it. It is allocated from the allocator of the first receiver's channel,
+     * which all player channels of the server share.
+     *
+     * @param receivers the players that should receive the packet
+     * @param packet    the {@link PacketWrapper} to encode and broadcast
+     */
+    public void broadcast(Collection<PacketPlayer> receivers, PacketWrapper packet) {
+        if (receivers.isEmpty()) return;
+
+        ByteBuf encoded = packet.build(allocator(receivers));
+        try {
+            for (PacketPlayer receiver : receivers) {
+                receiver.write(encoded.retainedDuplicate());
+                receiver.commit();
+            }
+        } finally {
+            encoded.release();
+        }
+    }
+
+    /**
+     * Sends several packets to every {@link PacketPlayer} in the provided collection.
+     * Each packet is encoded exactly once and written in the given order to every
+     * receiver, followed by a single flush per channel (see {@link PacketPlayer#commit()}).
+     *
+     * @param receivers the players that should receive the packets
+     * @param packets   the {@link PacketWrapper}s to encode and broadcast, in sending order
+     */
+    public void broadcast(Collection<PacketPlayer> receivers, PacketWrapper... packets) {
+        if (receivers.isEmpty() || packets.length == 0) return;
+
+        ByteBufAllocator allocator = allocator(receivers);
+        ByteBuf[] encoded = new ByteBuf[packets.length];
+        try {
+            for (int i = 0; i < packets.length; i++) {
+                encoded[i] = packets[i].build(allocator);
+            }
+
+            for (PacketPlayer receiver : receivers) {
+                for (ByteBuf buf : encoded) {
+                    receiver.write(buf.retainedDuplicate());
+                }
+                receiver.commit();
+            }
+        } finally {
+            for (ByteBuf buf : encoded) {
+                if (buf != null) {
+                    buf.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the given bundle to every {@link PacketPlayer} in the provided collection.
+     * Each packet of the bundle is encoded exactly once and every receiver gets all
+     * packets in order, followed by a single flush per channel.
+     *
+     * @param receivers the players that should receive the bundle
+     * @param bundle    the {@link PacketBundle} to encode and broadcast
+     */
+    public void broadcast(Collection<PacketPlayer> receivers, PacketBundle bundle) {
+        broadcast(receivers, bundle.getPackets());
+    }
+
+    private ByteBufAllocator allocator(Collection<PacketPlayer> receivers) {
+        return receivers.iterator().next().getChannel().alloc();
+    }
 }
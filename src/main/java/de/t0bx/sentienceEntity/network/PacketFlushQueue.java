@@ -0,0 +1,117 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.network;
+
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects the players whose channels contain written but not yet flushed packets and
+ * flushes each of them once per tick.
+ * <p>
+ * In queued mode a {@link PacketPlayer} only writes its packets to the channel and
+ * registers itself here. All packets a player receives during a tick, like look updates,
+ * path movement, hologram and metadata changes, are then sent with a single flush, which
+ * saves syscalls and wakeups of the channel's event loop. A player whose pending packets
+ * exceed {@link #getMaxPendingBytes()} is flushed right away instead of waiting for the
+ * end of the tick, so large bursts are not held back in memory.
+ * <p>
+ * {@link #flushAll()} is called at the end of every tick, either by the tick end event on
+ * Paper or by a repeating task started with {@link #start(Plugin)}. Players can be
+ * registered from any thread.
+ */
+public class PacketFlushQueue {
+
+    private final Queue<PacketPlayer> dirtyPlayers = new ConcurrentLinkedQueue<>();
+
+    @Getter
+    private final int maxPendingBytes;
+
+    private BukkitTask task;
+
+    /**
+     * Constructs a new PacketFlushQueue.
+     *
+     * @param maxPendingBytes the amount of pending bytes after which a player is flushed immediately
+     */
+    public PacketFlushQueue(int maxPendingBytes) {
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    /**
+     * Starts a repeating task that flushes all pending players every tick. Only needed on
+     * servers without a tick end event.
+     *
+     * @param plugin the plugin used to schedule the task
+     */
+    public void start(Plugin plugin) {
+        if (this.task != null) return;
+
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::flushAll, 1L, 1L);
+    }
+
+    /**
+     * Stops the flush task, if any, and flushes all pending players a last time.
+     */
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        this.flushAll();
+    }
+
+    /**
+     * Flushes the channels of all players that have pending packets.
+     */
+    public void flushAll() {
+        PacketPlayer packetPlayer;
+        while ((packetPlayer = this.dirtyPlayers.poll()) != null) {
+            packetPlayer.flush();
+        }
+    }
+
+    /**
+     * Registers a player whose channel has pending packets. Each player is only
+     * registered once until it has been flushed, see {@link PacketPlayer#commit()}.
+     *
+     * @param packetPlayer the player to flush at the end of the tick
+     */
+    void markDirty(PacketPlayer packetPlayer) {
+        this.dirtyPlayers.add(packetPlayer);
+    }
+}
@@ -31,16 +31,30 @@
 package de.t0bx.sentienceEntity.network;
 
 import de.t0bx.sentienceEntity.network.channel.ChannelAccess;
+import de.t0bx.sentienceEntity.network.wrapper.PacketBundle;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
 public class PacketPlayer {
     private final Player player;
     private final Channel channel;
 
+    @Getter(AccessLevel.NONE)
+    private final @Nullable PacketFlushQueue flushQueue;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger pendingBytes = new AtomicInteger();
+
     /**
      * Constructs a new PacketPlayer instance associated with the specified player.
      * This instance holds the player's details and retrieves the network channel
@@ -49,35 +63,98 @@ public class PacketPlayer {
      * @param player the Player with whom this PacketPlayer instance is associated
      */
     public PacketPlayer(Player player) {
+        this(player, null);
+    }
+
+    /**
+     * Constructs a new PacketPlayer instance associated with the specified player.
+     * If a flush queue is given, the player runs in queued mode: packets are only
+     * written to the channel and flushed once at the end of the tick by the queue.
+     *
+     * @param player the Player with whom this PacketPlayer instance is associated
+     * @param flushQueue the queue flushing the channel at the end of the tick,
+     *                   or {@code null} to flush after every send
+     */
+    public PacketPlayer(Player player, @Nullable PacketFlushQueue flushQueue) {
         this.player = player;
         this.channel = ChannelAccess.getChannel(player);
+        this.flushQueue = flushQueue;
     }
 
     /**
-     * Sends a packet to the associated player by writing and flushing it
-     * through the player's channel.
+     * Sends a packet to the associated player by writing it to the player's
+     * channel. The channel is flushed right away or, in queued mode, at the end
+     * of the tick.
      *
      * @param packet the {@link PacketWrapper} representing the packet to be sent.
      *               It contains the data to be sent over the network that is
-     *               built using the {@code build()} method.
+     *               built into a buffer of the channel's allocator.
      */
     public void sendPacket(PacketWrapper packet) {
-        channel.writeAndFlush(packet.build());
+        write(packet.build(channel.alloc()));
+        commit();
     }
 
     /**
      * Sends multiple packets to the associated player by writing each packet
-     * to the player's network channel and then flushing the channel.
+     * to the player's network channel, followed by a single flush of the channel
+     * or, in queued mode, the flush at the end of the tick.
      *
      * @param packet an array of {@link PacketWrapper} objects representing
      *               the packets to be sent. Each packet contains the data
-     *               to be sent over the network, which is built using the
-     *               {@code build()} method.
+     *               to be sent over the network, which is built into a buffer
+     *               of the channel's allocator.
      */
     public void sendMultiplePackets(PacketWrapper... packet) {
         for (PacketWrapper packets : packet) {
-            channel.write(packets.build());
+            write(packets.build(channel.alloc()));
+        }
+        commit();
+    }
+
+    /**
+     * Sends all packets of the given bundle to the associated player in order,
+     * followed by a single flush of the player's channel.
+     *
+     * @param bundle the {@link PacketBundle} containing the packets to be sent
+     */
+    public void sendBundle(PacketBundle bundle) {
+        sendMultiplePackets(bundle.getPackets());
+    }
+
+    /**
+     * Writes an already encoded packet to the player's channel without flushing it.
+     * The written packets are sent once {@link #commit()} is called.
+     *
+     * @param encoded the encoded packet, the channel takes over its reference
+     */
+    public void write(ByteBuf encoded) {
+        pendingBytes.addAndGet(encoded.readableBytes());
+        channel.write(encoded);
+    }
+
+    /**
+     * Makes sure all packets written so far are sent. Without a flush queue, or if the
+     * pending packets exceed its watermark, the channel is flushed right away. Otherwise
+     * the player is registered to be flushed at the end of the tick.
+     */
+    public void commit() {
+        if (flushQueue == null || pendingBytes.get() >= flushQueue.getMaxPendingBytes()) {
+            flush();
+            return;
+        }
+
+        if (dirty.compareAndSet(false, true)) {
+            flushQueue.markDirty(this);
         }
+    }
+
+    /**
+     * Flushes all packets written to the player's channel.
+     */
+    public void flush() {
+        dirty.set(false);
+        pendingBytes.set(0);
         channel.flush();
     }
 }
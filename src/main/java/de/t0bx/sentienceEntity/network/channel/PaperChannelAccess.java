@@ -33,13 +33,24 @@ package de.t0bx.sentienceEntity.network.channel;
 import io.netty.channel.Channel;
 import org.bukkit.entity.Player;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 
 public class PaperChannelAccess implements ChannelRegistry {
 
+    private static final MethodType CHANNEL_LOOKUP_TYPE = MethodType.methodType(Channel.class, Player.class);
+
+    private volatile MethodHandle channelLookup;
+
     /**
      * Retrieves the Netty channel associated with the specified player by accessing internal fields
-     * through reflection. This method attempts to locate and return the player's channel object.
+     * of the server. The reflective lookup of these fields only happens for the first player; it is
+     * resolved into a single composed {@link MethodHandle} (player handle, packet listener, connection,
+     * channel), so every further lookup is a plain chain of handle invocations.
+     * Paper does not offer an API that exposes the channel of a player, so the internals are still required.
      *
      * @param player the Player instance whose Netty channel is to be retrieved
      * @return the Netty channel associated with the specified player
@@ -47,22 +58,61 @@ public class PaperChannelAccess implements ChannelRegistry {
      */
     public Channel getChannel(Player player) {
         try {
-            Object handle = player.getClass().getMethod("getHandle").invoke(player);
+            MethodHandle lookup = this.channelLookup;
+            if (lookup == null) {
+                lookup = resolveChannelLookup(player);
+            }
 
-            Field connField = handle.getClass().getDeclaredField("connection");
-            connField.setAccessible(true);
-            Object packetListener = connField.get(handle);
+            return (Channel) lookup.invokeExact(player);
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Could not access Netty channel", throwable);
+        }
+    }
 
-            Field networkManagerField = getFieldFromSuper(packetListener.getClass(), "connection");
-            networkManagerField.setAccessible(true);
-            Object networkManager = networkManagerField.get(packetListener);
+    /**
+     * Resolves the fields leading from the player to its Netty channel and composes their getters
+     * into a single {@link MethodHandle} of the type {@code (Player) -> Channel}. The classes are
+     * taken from the given player, as all players share the same server classes.
+     *
+     * @param player the Player instance used to resolve the internal classes
+     * @return the composed channel lookup
+     * @throws ReflectiveOperationException if one of the fields or methods cannot be found or accessed
+     */
+    private synchronized MethodHandle resolveChannelLookup(Player player) throws ReflectiveOperationException {
+        if (this.channelLookup != null) return this.channelLookup;
 
-            Field channelField = getFieldFromSuper(networkManager.getClass(), "channel");
-            channelField.setAccessible(true);
-            return (Channel) channelField.get(networkManager);
-        } catch (Exception e) {
-            throw new RuntimeException("Could not access Netty channel", e);
-        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        Method getHandleMethod = player.getClass().getMethod("getHandle");
+        getHandleMethod.setAccessible(true);
+        Object handle = getHandleMethod.invoke(player);
+
+        Field connField = handle.getClass().getDeclaredField("connection");
+        connField.setAccessible(true);
+        Object packetListener = connField.get(handle);
+
+        Field networkManagerField = getFieldFromSuper(packetListener.getClass(), "connection");
+        networkManagerField.setAccessible(true);
+        Object networkManager = networkManagerField.get(packetListener);
+
+        Field channelField = getFieldFromSuper(networkManager.getClass(), "channel");
+        channelField.setAccessible(true);
+
+        MethodHandle getHandle = asObjectGetter(lookup.unreflect(getHandleMethod));
+        MethodHandle getPacketListener = asObjectGetter(lookup.unreflectGetter(connField));
+        MethodHandle getNetworkManager = asObjectGetter(lookup.unreflectGetter(networkManagerField));
+        MethodHandle getChannel = asObjectGetter(lookup.unreflectGetter(channelField));
+
+        MethodHandle composed = MethodHandles.filterReturnValue(getHandle, getPacketListener);
+        composed = MethodHandles.filterReturnValue(composed, getNetworkManager);
+        composed = MethodHandles.filterReturnValue(composed, getChannel);
+
+        this.channelLookup = composed.asType(CHANNEL_LOOKUP_TYPE);
+        return this.channelLookup;
+    }
+
+    private MethodHandle asObjectGetter(MethodHandle getter) {
+        return getter.asType(MethodType.methodType(Object.class, Object.class));
     }
 
     /**
@@ -40,19 +40,21 @@ import de.t0bx.sentienceEntity.network.utils.PacketUtils;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.packets.PacketInteractEntity;
 import de.t0bx.sentienceEntity.npc.NpcsHandler;
+import de.t0bx.sentienceEntity.npc.SentienceNPC;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
-import java.util.List;
+import java.util.logging.Level;
 
 public class PacketReceiveHandler {
 
     private final NpcsHandler npcsHandler;
     private final PacketController packetController;
+    private final int interactEntityPacketId;
 
     /**
      * Constructs a new PacketReceiveHandler.
@@ -63,13 +65,14 @@ public class PacketReceiveHandler {
     public PacketReceiveHandler(NpcsHandler npcsHandler, PacketController packetController) {
         this.npcsHandler = npcsHandler;
         this.packetController = packetController;
+        this.interactEntityPacketId = PacketIdRegistry.getPacketId(PacketId.INTERACT_ENTITY);
     }
 
     /**
      * Injects a {@link Player} into the packet interception system, enabling custom handling
      * of specific inbound packets for that player. This method modifies the player's channel
-     * pipeline by adding a custom {@link ByteToMessageDecoder} to intercept packets.
-     * If a custom decoder already exists for the player, it is removed before adding the new one.
+     * pipeline by adding an {@link InteractInterceptor} in front of the vanilla decoder.
+     * If an interceptor already exists for the player, it is removed before adding the new one.
      *
      * @param player the {@link Player} to inject into the packet interception system
      */
@@ -82,69 +85,7 @@ public class PacketReceiveHandler {
                 channel.pipeline().remove(inboundHandlerName);
             }
 
-            channel.pipeline().addBefore("decoder", inboundHandlerName,
-                    new ByteToMessageDecoder() {
-                        @Override
-                        protected void decode(ChannelHandlerContext ctx, ByteBuf byteBuf, List<Object> out) {
-                            byteBuf.markReaderIndex();
-                            if (!byteBuf.isReadable()) return;
-
-                            int packetId;
-                            try {
-                                packetId = PacketUtils.readVarInt(byteBuf);
-                            } catch (Exception exception) {
-                                byteBuf.resetReaderIndex();
-                                out.add(byteBuf.readBytes(byteBuf.readableBytes()));
-                                return;
-                            }
-
-                            if (packetId == PacketIdRegistry.getPacketId(PacketId.INTERACT_ENTITY)) {
-                                try {
-                                    PacketInteractEntity packet = PacketInteractEntity.read(byteBuf);
-                                    InteractType type = packet.getInteractType();
-                                    InteractHand hand = packet.getHand().orElse(null);
-
-                                    if (type != InteractType.ATTACK && hand == null) {
-                                        byteBuf.resetReaderIndex();
-                                        out.add(byteBuf.readBytes(byteBuf.readableBytes()));
-                                        return;
-                                    }
-
-                                    int entityId = packet.getEntityId();
-                                    if (!npcsHandler.getNpcIds().contains(entityId)) {
-                                        byteBuf.resetReaderIndex();
-                                        out.add(byteBuf.readBytes(byteBuf.readableBytes()));
-                                        return;
-                                    }
-
-                                    String npcName = npcsHandler.getNpcNameFromId(entityId);
-                                    if (npcName == null) {
-                                        byteBuf.resetReaderIndex();
-                                        out.add(byteBuf.readBytes(byteBuf.readableBytes()));
-                                        return;
-                                    }
-
-                                    Player player = SentienceEntity.getInstance().getPacketController().getPlayer(ctx.channel());
-                                    if (player == null) {
-                                        byteBuf.resetReaderIndex();
-                                        out.add(byteBuf.readBytes(byteBuf.readableBytes()));
-                                        return;
-                                    }
-
-                                    Bukkit.getScheduler().runTask(SentienceEntity.getInstance(), () -> {
-                                        PlayerClickNpcEvent event = new PlayerClickNpcEvent(player, npcsHandler.getNPC(npcName), hand, type);
-                                        Bukkit.getPluginManager().callEvent(event);
-                                    });
-                                } catch (Exception exception) {
-                                    exception.printStackTrace();
-                                    byteBuf.resetReaderIndex();
-                                }
-                            }
-
-                            byteBuf.resetReaderIndex();
-                            out.add(byteBuf.readBytes(byteBuf.readableBytes()));
-                        }
-                    });
+            channel.pipeline().addBefore("decoder", inboundHandlerName, new InteractInterceptor());
         } catch (Exception exception) {
             exception.printStackTrace();
         }
@@ -153,7 +94,7 @@ public class PacketReceiveHandler {
     /**
      * Removes the specified {@link Player} from the packet interception system, disabling
      * custom handling of inbound packets for that player. This is achieved by removing
-     * the associated custom {@link ByteToMessageDecoder} from the player's channel pipeline.
+     * the associated {@link InteractInterceptor} from the player's channel pipeline.
      *
      * @param player the {@link Player} to uninject from the packet interception system
      */
@@ -169,4 +110,73 @@ public class PacketReceiveHandler {
             exception.printStackTrace();
         }
     }
+
+    /**
+     * Inbound handler that only peeks at the packet id of every serverbound frame.
+     * Frames that are not an interact packet are forwarded untouched, without copying
+     * or re-allocating the buffer. Interact packets are decoded on a restored reader
+     * index and forwarded as well, so the vanilla decoder always receives the original bytes.
+     */
+    private class InteractInterceptor extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (msg instanceof ByteBuf byteBuf && byteBuf.isReadable()) {
+                int readerIndex = byteBuf.readerIndex();
+                try {
+                    if (this.peekPacketId(byteBuf) == interactEntityPacketId) {
+                        handleInteract(ctx, byteBuf);
+                    }
+                } catch (Exception exception) {
+                    SentienceEntity.getInstance().getLogger().log(Level.FINE, "Failed to decode an interact packet", exception);
+                } finally {
+                    byteBuf.readerIndex(readerIndex);
+                }
+            }
+
+            super.channelRead(ctx, msg);
+        }
+
+        /**
+         * Reads the packet id of the given frame. Frames whose id cannot be read are left
+         * to the vanilla decoder, which handles malformed frames itself.
+         *
+         * @param byteBuf the packet buffer, positioned at the packet id
+         * @return the packet id, or {@code -1} if it cannot be read
+         */
+        private int peekPacketId(ByteBuf byteBuf) {
+            try {
+                return PacketUtils.readVarInt(byteBuf);
+            } catch (RuntimeException exception) {
+                return -1;
+            }
+        }
+
+        /**
+         * Decodes an interact packet and fires a {@link PlayerClickNpcEvent} on the main thread
+         * if the targeted entity belongs to one of our NPCs.
+         *
+         * @param ctx the channel context the packet was received on
+         * @param byteBuf the packet buffer, positioned right after the packet id
+         */
+        private void handleInteract(ChannelHandlerContext ctx, ByteBuf byteBuf) {
+            PacketInteractEntity packet = PacketInteractEntity.read(byteBuf);
+            InteractType type = packet.getInteractType();
+            InteractHand hand = packet.getHand().orElse(null);
+
+            if (type != InteractType.ATTACK && hand == null) return;
+
+            int entityId = packet.getEntityId();
+            SentienceNPC npc = npcsHandler.getNPC(entityId);
+            if (npc == null) return;
+
+            Player player = packetController.getPlayer(ctx.channel());
+            if (player == null) return;
+
+            Bukkit.getScheduler().runTask(SentienceEntity.getInstance(), () -> {
+                PlayerClickNpcEvent event = new PlayerClickNpcEvent(player, npc, hand, type);
+                Bukkit.getPluginManager().callEvent(event);
+            });
+        }
+    }
 }
@@ -47,6 +47,11 @@ public enum MetadataType {
     BOOLEAN(8, (buf, val) -> buf.writeBoolean((Boolean) val)),
     @SuppressWarnings("unchecked")
     OPTIONAL_TEXT_COMPONENT(6, ((buf, val) -> PacketUtils.writeOptionalComponent(buf, (Optional<Component>) val))),
+    /**
+     * An optional text component that has already been encoded with {@link PacketUtils#encodeOptionalComponent(Component)}.
+     * The value is the encoded {@code byte[]}, which is copied into the packet as it is.
+     */
+    ENCODED_OPTIONAL_TEXT_COMPONENT(6, (buf, val) -> buf.writeBytes((byte[]) val)),
     POSE(21, (buf, val) -> PacketUtils.writeVarInt(buf, (Integer) val));
 
     public final int id;
@@ -30,6 +30,8 @@
 
 package de.t0bx.sentienceEntity.network.nbt;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.DataOutput;
 import java.io.IOException;
 
@@ -65,4 +67,15 @@ public record NbtByteArrayTag(byte[] bytes) implements NbtTag {
         output.writeInt(bytes.length);
         output.write(bytes);
     }
+
+    /**
+     * Writes the payload of this tag directly to the provided {@link ByteBuf}.
+     *
+     * @param buf the buffer to write the tag data to
+     */
+    @Override
+    public void write(ByteBuf buf) {
+        buf.writeInt(bytes.length);
+        buf.writeBytes(bytes);
+    }
 }
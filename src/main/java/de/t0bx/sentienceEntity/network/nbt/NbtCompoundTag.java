@@ -30,20 +30,41 @@
 
 package de.t0bx.sentienceEntity.network.nbt;
 
-import lombok.Getter;
+import io.netty.buffer.ByteBuf;
 
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
+/**
+ * An NBT compound that keeps its tags in insertion order in two parallel arrays.
+ * <p>
+ * Compounds sent over the network are small and written far more often than they are
+ * queried, so the tags are kept in arrays instead of a hash map: writing walks the arrays
+ * in order, and lookups by name scan them linearly.
+ */
 public class NbtCompoundTag implements NbtTag {
 
-    @Getter
-    private final Map<String, NbtTag> nbtTags;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private String[] names;
+    private NbtTag[] tags;
+    private int size;
+    private Map<String, NbtTag> view;
 
     public NbtCompoundTag() {
-        this.nbtTags = new HashMap<>();
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new compound with room for the given number of tags.
+     *
+     * @param expectedSize the number of tags the compound is expected to hold
+     */
+    public NbtCompoundTag(int expectedSize) {
+        int capacity = Math.max(1, expectedSize);
+        this.names = new String[capacity];
+        this.tags = new NbtTag[capacity];
     }
 
     /**
@@ -66,14 +87,33 @@ public class NbtCompoundTag implements NbtTag {
      */
     @Override
     public void write(DataOutput output) throws IOException {
-        for (String tags : this.nbtTags.keySet()) {
-            NbtTag tag = this.nbtTags.get(tags);
-            writeTag(tags, tag, output);
+        for (int i = 0; i < this.size; i++) {
+            writeTag(this.names[i], this.tags[i], output);
         }
 
         output.writeByte(0x00);
     }
 
+    /**
+     * Writes the NBT compound tag and its contained tags directly to the provided {@link ByteBuf},
+     * in insertion order and in the same format as {@link #write(DataOutput)}.
+     *
+     * @param buf the buffer to which the compound tag and its contents are written
+     */
+    @Override
+    public void write(ByteBuf buf) {
+        for (int i = 0; i < this.size; i++) {
+            NbtTag tag = this.tags[i];
+            buf.writeByte(tag.getTagId());
+            if (tag.getTagId() != 0) {
+                NbtWriter.writeUtf(buf, this.names[i]);
+                tag.write(buf);
+            }
+        }
+
+        buf.writeByte(0x00);
+    }
+
     /**
      * Writes an NBT tag with the given name, type, and data to the specified output.
      *
@@ -97,7 +137,7 @@ public class NbtCompoundTag implements NbtTag {
      * @param tag the string value to be stored as the tag
      */
     public void addTag(String name, String tag) {
-        this.nbtTags.put(name, NbtStringTag.from(tag));
+        this.addTag(name, NbtStringTag.from(tag));
     }
 
     /**
@@ -107,16 +147,182 @@ public class NbtCompoundTag implements NbtTag {
      * @return true if the key exists, otherwise false
      */
     public boolean hasKey(String name) {
-    	return this.nbtTags.containsKey(name);
+        return this.indexOf(name) >= 0;
     }
 
     /**
      * Adds an NBT tag to the compound tag using the specified key and value.
+     * If a tag is already stored under the key, it is replaced and keeps its position.
      *
      * @param name the key under which the tag will be stored
      * @param tag the NBT tag to be added to the compound tag
      */
     public void addTag(String name, NbtTag tag) {
-        this.nbtTags.put(name, tag);
+        int index = this.indexOf(name);
+        if (index >= 0) {
+            this.tags[index] = tag;
+            return;
+        }
+
+        if (this.size == this.names.length) {
+            this.names = Arrays.copyOf(this.names, this.size << 1);
+            this.tags = Arrays.copyOf(this.tags, this.size << 1);
+        }
+
+        this.names[this.size] = name;
+        this.tags[this.size] = tag;
+        this.size++;
+    }
+
+    /**
+     * Returns the tag stored under the given name.
+     *
+     * @param name the name of the tag
+     * @return the tag, or {@code null} if no tag is stored under the name
+     */
+    public NbtTag getTag(String name) {
+        int index = this.indexOf(name);
+        return index < 0 ? null : this.tags[index];
+    }
+
+    /**
+     * Removes the tag stored under the given name. The remaining tags keep their order.
+     *
+     * @param name the name of the tag
+     * @return the removed tag, or {@code null} if no tag was stored under the name
+     */
+    public NbtTag removeTag(String name) {
+        int index = this.indexOf(name);
+        return index < 0 ? null : this.removeAt(index);
+    }
+
+    /**
+     * Returns a live view of the tags of this compound in insertion order. Changes made
+     * through the view, such as {@code put} or {@code remove}, are written to the compound
+     * and later changes of the compound are visible in the view.
+     *
+     * @return the tags by name
+     */
+    public Map<String, NbtTag> getNbtTags() {
+        if (this.view == null) {
+            this.view = new TagView();
+        }
+        return this.view;
+    }
+
+    /**
+     * Returns the number of tags in this compound.
+     *
+     * @return the number of tags
+     */
+    public int size() {
+        return this.size;
+    }
+
+    private NbtTag removeAt(int index) {
+        NbtTag removed = this.tags[index];
+        int moved = this.size - index - 1;
+        System.arraycopy(this.names, index + 1, this.names, index, moved);
+        System.arraycopy(this.tags, index + 1, this.tags, index, moved);
+
+        this.size--;
+        this.names[this.size] = null;
+        this.tags[this.size] = null;
+        return removed;
+    }
+
+    private int indexOf(Object name) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.names[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * The map view returned by {@link #getNbtTags()}, backed by the parallel arrays.
+     */
+    private final class TagView extends AbstractMap<String, NbtTag> {
+
+        @Override
+        public int size() {
+            return NbtCompoundTag.this.size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public NbtTag get(Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : tags[index];
+        }
+
+        @Override
+        public NbtTag put(String key, NbtTag value) {
+            NbtTag previous = this.get(key);
+            addTag(key, value);
+            return previous;
+        }
+
+        @Override
+        public NbtTag remove(Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : removeAt(index);
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(names, 0, NbtCompoundTag.this.size, null);
+            Arrays.fill(tags, 0, NbtCompoundTag.this.size, null);
+            NbtCompoundTag.this.size = 0;
+        }
+
+        @Override
+        public Set<Entry<String, NbtTag>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return NbtCompoundTag.this.size;
+                }
+
+                @Override
+                public Iterator<Entry<String, NbtTag>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+                        private int last = -1;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.next < NbtCompoundTag.this.size;
+                        }
+
+                        @Override
+                        public Entry<String, NbtTag> next() {
+                            if (!this.hasNext()) throw new NoSuchElementException();
+
+                            int index = this.last = this.next++;
+                            return new SimpleEntry<>(names[index], tags[index]) {
+                                @Override
+                                public NbtTag setValue(NbtTag value) {
+                                    tags[index] = value;
+                                    return super.setValue(value);
+                                }
+                            };
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (this.last < 0) throw new IllegalStateException();
+
+                            removeAt(this.last);
+                            this.next = this.last;
+                            this.last = -1;
+                        }
+                    };
+                }
+            };
+        }
     }
 }
@@ -30,6 +30,8 @@
 
 package de.t0bx.sentienceEntity.network.nbt;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.DataOutput;
 import java.io.IOException;
 
@@ -63,4 +65,14 @@ public record NbtDoubleTag(double value) implements NbtTag {
     public void write(DataOutput output) throws IOException {
         output.writeDouble(value);
     }
+
+    /**
+     * Writes the payload of this tag directly to the provided {@link ByteBuf}.
+     *
+     * @param buf the buffer to write the tag data to
+     */
+    @Override
+    public void write(ByteBuf buf) {
+        buf.writeDouble(value);
+    }
 }
\ No newline at end of file
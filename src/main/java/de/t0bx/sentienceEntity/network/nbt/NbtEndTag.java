@@ -30,6 +30,8 @@
 
 package de.t0bx.sentienceEntity.network.nbt;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.DataOutput;
 import java.io.IOException;
 
@@ -56,4 +58,15 @@ public class NbtEndTag implements NbtTag {
     @Override
     public void write(DataOutput output) throws IOException {
     }
+
+    /**
+     * Writes the NBT End Tag data to the provided {@link ByteBuf}.
+     * Since the End Tag does not contain any additional data, this implementation
+     * performs no operation on the buffer.
+     *
+     * @param buf the buffer where the tag data would be written
+     */
+    @Override
+    public void write(ByteBuf buf) {
+    }
 }
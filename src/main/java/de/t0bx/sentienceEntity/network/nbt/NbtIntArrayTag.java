@@ -30,6 +30,8 @@
 
 package de.t0bx.sentienceEntity.network.nbt;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.DataOutput;
 import java.io.IOException;
 
@@ -70,4 +72,17 @@ public record NbtIntArrayTag(int[] values) implements NbtTag{
             output.writeInt(i);
         }
     }
+
+    /**
+     * Writes the payload of this tag directly to the provided {@link ByteBuf}.
+     *
+     * @param buf the buffer to write the tag data to
+     */
+    @Override
+    public void write(ByteBuf buf) {
+        buf.writeInt(values.length);
+        for (int i : values) {
+            buf.writeInt(i);
+        }
+    }
 }
@@ -30,6 +30,7 @@
 
 package de.t0bx.sentienceEntity.network.nbt;
 
+import io.netty.buffer.ByteBuf;
 import lombok.Getter;
 
 import java.io.DataOutput;
@@ -82,4 +83,21 @@ public class NbtListTag implements NbtTag {
             tag.write(output);
         }
     }
+
+    /**
+     * Writes the serialized representation of this NBT list tag directly to the specified {@link ByteBuf},
+     * in the same format as {@link #write(DataOutput)}.
+     *
+     * @param buf the buffer to which the tag data will be written
+     */
+    @Override
+    public void write(ByteBuf buf) {
+        byte typeId = tags.isEmpty() ? 0 : tags.get(0).getTagId();
+        buf.writeByte(typeId);
+        buf.writeInt(tags.size());
+
+        for (NbtTag tag : tags) {
+            tag.write(buf);
+        }
+    }
 }
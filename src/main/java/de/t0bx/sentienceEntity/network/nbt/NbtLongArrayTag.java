@@ -30,6 +30,8 @@
 
 package de.t0bx.sentienceEntity.network.nbt;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.DataOutput;
 import java.io.IOException;
 
@@ -68,4 +70,17 @@ public record NbtLongArrayTag(long[] values) implements NbtTag {
             output.writeLong(l);
         }
     }
+
+    /**
+     * Writes the payload of this tag directly to the provided {@link ByteBuf}.
+     *
+     * @param buf the buffer to write the tag data to
+     */
+    @Override
+    public void write(ByteBuf buf) {
+        buf.writeInt(values.length);
+        for (long l : values) {
+            buf.writeLong(l);
+        }
+    }
 }
@@ -30,6 +30,8 @@
 
 package de.t0bx.sentienceEntity.network.nbt;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.DataOutput;
 import java.io.IOException;
 
@@ -65,6 +67,16 @@ public record NbtStringTag(String tag) implements NbtTag {
         output.writeUTF(tag);
     }
 
+    /**
+     * Writes the payload of this tag directly to the provided {@link ByteBuf}.
+     *
+     * @param buf the buffer to write the tag data to
+     */
+    @Override
+    public void write(ByteBuf buf) {
+        NbtWriter.writeUtf(buf, tag);
+    }
+
     /**
      * Creates a new {@code NbtStringTag} instance with the specified string value.
      *
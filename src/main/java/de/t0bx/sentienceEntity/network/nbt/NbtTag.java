@@ -30,6 +30,10 @@
 
 package de.t0bx.sentienceEntity.network.nbt;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.handler.codec.EncoderException;
+
 import java.io.DataOutput;
 import java.io.IOException;
 
@@ -37,4 +41,21 @@ public interface NbtTag {
     byte getTagId();
 
     void write(DataOutput output) throws IOException;
+
+    /**
+     * Writes the payload of this tag directly to the given buffer, without the tag id.
+     * The default implementation adapts the buffer to {@link #write(DataOutput)}, so
+     * implementations outside of this package keep working; the built-in tags override
+     * it to write into the buffer without the stream in between.
+     *
+     * @param buf the buffer to write the tag data to
+     * @throws EncoderException if the tag could not be written
+     */
+    default void write(ByteBuf buf) {
+        try {
+            this.write(new ByteBufOutputStream(buf));
+        } catch (IOException exception) {
+            throw new EncoderException(exception);
+        }
+    }
 }
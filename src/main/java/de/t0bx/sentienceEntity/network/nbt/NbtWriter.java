@@ -0,0 +1,373 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.network.nbt;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.EncoderException;
+
+import java.util.UUID;
+
+/**
+ * Writes network NBT straight into a {@link ByteBuf}, without building a tag tree first.
+ * <p>
+ * Named tags are written with the {@code write*} methods, which emit the tag id, the name
+ * and the payload. Compounds are opened with {@link #beginCompound(String)} and closed with
+ * {@link #endCompound()}. Lists are opened with {@link #beginList(String, byte, int)}, after
+ * which exactly the announced number of elements has to be written with the matching
+ * {@code element*} methods. Compound elements of a list have no header of their own: their
+ * tags are written right away and each element is closed with {@link #endCompound()}.
+ * Existing {@link NbtTag} trees can be embedded with {@link #writeTag(String, NbtTag)}.
+ * <p>
+ * Strings are encoded in the modified UTF-8 format of {@link java.io.DataOutput#writeUTF(String)}
+ * directly into the buffer. The writer does not validate the structure it writes.
+ */
+public final class NbtWriter {
+
+    private final ByteBuf buf;
+
+    /**
+     * Constructs a new NbtWriter.
+     *
+     * @param buf the buffer the tags are written to
+     */
+    public NbtWriter(ByteBuf buf) {
+        this.buf = buf;
+    }
+
+    /**
+     * Opens the nameless root compound used by the network format.
+     *
+     * @return this writer
+     */
+    public NbtWriter beginRootCompound() {
+        this.buf.writeByte(NbtTagIds.COMPOUND_TAG.getId());
+        return this;
+    }
+
+    /**
+     * Opens a named compound inside the current compound.
+     *
+     * @param name the name of the compound
+     * @return this writer
+     */
+    public NbtWriter beginCompound(String name) {
+        this.writeHeader(NbtTagIds.COMPOUND_TAG, name);
+        return this;
+    }
+
+    /**
+     * Closes the current compound.
+     *
+     * @return this writer
+     */
+    public NbtWriter endCompound() {
+        this.buf.writeByte(NbtTagIds.END_TAG.getId());
+        return this;
+    }
+
+    /**
+     * Opens a named list inside the current compound.
+     *
+     * @param name the name of the list
+     * @param elementTagId the tag id of the elements, see {@link NbtTagIds}
+     * @param size the number of elements that will be written
+     * @return this writer
+     */
+    public NbtWriter beginList(String name, byte elementTagId, int size) {
+        this.writeHeader(NbtTagIds.LIST_TAG, name);
+        this.buf.writeByte(size == 0 ? NbtTagIds.END_TAG.getId() : elementTagId);
+        this.buf.writeInt(size);
+        return this;
+    }
+
+    /**
+     * Writes a byte tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param value the value of the tag
+     * @return this writer
+     */
+    public NbtWriter writeByte(String name, byte value) {
+        this.writeHeader(NbtTagIds.BYTE_TAG, name);
+        this.buf.writeByte(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean as a byte tag of {@code 1} or {@code 0} into the current compound.
+     *
+     * @param name the name of the tag
+     * @param value the value of the tag
+     * @return this writer
+     */
+    public NbtWriter writeBoolean(String name, boolean value) {
+        return this.writeByte(name, value ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Writes a short tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param value the value of the tag
+     * @return this writer
+     */
+    public NbtWriter writeShort(String name, short value) {
+        this.writeHeader(NbtTagIds.SHORT_TAG, name);
+        this.buf.writeShort(value);
+        return this;
+    }
+
+    /**
+     * Writes an int tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param value the value of the tag
+     * @return this writer
+     */
+    public NbtWriter writeInt(String name, int value) {
+        this.writeHeader(NbtTagIds.INT_TAG, name);
+        this.buf.writeInt(value);
+        return this;
+    }
+
+    /**
+     * Writes a long tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param value the value of the tag
+     * @return this writer
+     */
+    public NbtWriter writeLong(String name, long value) {
+        this.writeHeader(NbtTagIds.LONG_TAG, name);
+        this.buf.writeLong(value);
+        return this;
+    }
+
+    /**
+     * Writes a float tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param value the value of the tag
+     * @return this writer
+     */
+    public NbtWriter writeFloat(String name, float value) {
+        this.writeHeader(NbtTagIds.FLOAT_TAG, name);
+        this.buf.writeFloat(value);
+        return this;
+    }
+
+    /**
+     * Writes a double tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param value the value of the tag
+     * @return this writer
+     */
+    public NbtWriter writeDouble(String name, double value) {
+        this.writeHeader(NbtTagIds.DOUBLE_TAG, name);
+        this.buf.writeDouble(value);
+        return this;
+    }
+
+    /**
+     * Writes a string tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param value the value of the tag
+     * @return this writer
+     */
+    public NbtWriter writeString(String name, String value) {
+        this.writeHeader(NbtTagIds.STRING_TAG, name);
+        writeUtf(this.buf, value);
+        return this;
+    }
+
+    /**
+     * Writes a byte array tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param values the elements of the array
+     * @return this writer
+     */
+    public NbtWriter writeByteArray(String name, byte[] values) {
+        this.writeHeader(NbtTagIds.BYTE_ARRAY_TAG, name);
+        this.buf.writeInt(values.length);
+        this.buf.writeBytes(values);
+        return this;
+    }
+
+    /**
+     * Writes an int array tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param values the elements of the array
+     * @return this writer
+     */
+    public NbtWriter writeIntArray(String name, int[] values) {
+        this.writeHeader(NbtTagIds.INT_ARRAY_TAG, name);
+        this.buf.writeInt(values.length);
+        for (int value : values) {
+            this.buf.writeInt(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a long array tag into the current compound.
+     *
+     * @param name the name of the tag
+     * @param values the elements of the array
+     * @return this writer
+     */
+    public NbtWriter writeLongArray(String name, long[] values) {
+        this.writeHeader(NbtTagIds.LONG_ARRAY_TAG, name);
+        this.buf.writeInt(values.length);
+        for (long value : values) {
+            this.buf.writeLong(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a UUID as an int array of four elements, the format the game uses for UUIDs.
+     *
+     * @param name the name of the tag
+     * @param uuid the UUID to write
+     * @return this writer
+     */
+    public NbtWriter writeUuid(String name, UUID uuid) {
+        this.writeHeader(NbtTagIds.INT_ARRAY_TAG, name);
+        this.buf.writeInt(4);
+        this.buf.writeInt((int) (uuid.getMostSignificantBits() >> 32));
+        this.buf.writeInt((int) uuid.getMostSignificantBits());
+        this.buf.writeInt((int) (uuid.getLeastSignificantBits() >> 32));
+        this.buf.writeInt((int) uuid.getLeastSignificantBits());
+        return this;
+    }
+
+    /**
+     * Writes an existing tag tree as a named tag of the current compound.
+     *
+     * @param name the name of the tag
+     * @param tag the tag to write
+     * @return this writer
+     */
+    public NbtWriter writeTag(String name, NbtTag tag) {
+        this.buf.writeByte(tag.getTagId());
+        writeUtf(this.buf, name);
+        tag.write(this.buf);
+        return this;
+    }
+
+    /**
+     * Writes a byte element of the current list.
+     *
+     * @param value the value of the element
+     * @return this writer
+     */
+    public NbtWriter elementByte(byte value) {
+        this.buf.writeByte(value);
+        return this;
+    }
+
+    /**
+     * Writes a int element of the current list.
+     *
+     * @param value the value of the element
+     * @return this writer
+     */
+    public NbtWriter elementInt(int value) {
+        this.buf.writeInt(value);
+        return this;
+    }
+
+    /**
+     * Writes a float element of the current list.
+     *
+     * @param value the value of the element
+     * @return this writer
+     */
+    public NbtWriter elementFloat(float value) {
+        this.buf.writeFloat(value);
+        return this;
+    }
+
+    /**
+     * Writes a string element of the current list.
+     *
+     * @param value the value of the element
+     * @return this writer
+     */
+    public NbtWriter elementString(String value) {
+        writeUtf(this.buf, value);
+        return this;
+    }
+
+    private void writeHeader(NbtTagIds tagId, String name) {
+        this.buf.writeByte(tagId.getId());
+        writeUtf(this.buf, name);
+    }
+
+    /**
+     * Writes the given string in the modified UTF-8 format of {@link java.io.DataOutput#writeUTF(String)},
+     * prefixed with its encoded length as an unsigned short.
+     *
+     * @param buf the buffer the string is written to
+     * @param value the string to write
+     * @throws EncoderException if the encoded string is longer than 65535 bytes
+     */
+    public static void writeUtf(ByteBuf buf, String value) {
+        int length = value.length();
+        int lengthIndex = buf.writerIndex();
+        buf.ensureWritable(2 + length);
+        buf.writeShort(0);
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c != 0 && c < 0x80) {
+                buf.writeByte(c);
+            } else if (c < 0x800) {
+                buf.writeByte(0xC0 | (c >> 6));
+                buf.writeByte(0x80 | (c & 0x3F));
+            } else {
+                buf.writeByte(0xE0 | (c >> 12));
+                buf.writeByte(0x80 | ((c >> 6) & 0x3F));
+                buf.writeByte(0x80 | (c & 0x3F));
+            }
+        }
+
+        int encodedLength = buf.writerIndex() - lengthIndex - 2;
+        if (encodedLength > 0xFFFF) {
+            throw new EncoderException("String too long to be encoded as NBT: " + encodedLength + " bytes");
+        }
+        buf.setShort(lengthIndex, encodedLength);
+    }
+}
@@ -41,6 +41,13 @@ import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import java.util.EnumMap;
 import java.util.Map;
 
+/**
+ * Serializes components to JSON with conditional decorations.
+ *
+ * @deprecated components are encoded directly by {@link ComponentNbtEncoder}; this class
+ *             is no longer used and will be removed in the next release
+ */
+@Deprecated
 public class AdventureSerializer {
     private static final TextDecoration[] DECORATIONS = {
             TextDecoration.BOLD,
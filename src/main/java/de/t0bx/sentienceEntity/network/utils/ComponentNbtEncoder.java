@@ -0,0 +1,236 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.network.utils;
+
+import de.t0bx.sentienceEntity.network.nbt.NbtTagIds;
+import de.t0bx.sentienceEntity.network.nbt.NbtWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.EncoderException;
+import net.kyori.adventure.text.*;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.ShadowColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.List;
+
+/**
+ * Encodes Adventure {@link Component}s straight into network NBT.
+ * <p>
+ * The encoder walks the component tree and writes the tags of every component, its
+ * {@link Style} and its children directly into the target {@link ByteBuf}, without
+ * serializing the component to JSON, parsing it again and building an NBT tree first.
+ * Decorations are inherited explicitly: a decoration enabled on a component is written as
+ * disabled on children that do not set it themselves. Components nested in translation
+ * arguments, hover events and selector separators start without inherited decorations.
+ */
+public final class ComponentNbtEncoder {
+
+    private static final TextDecoration[] DECORATIONS = {
+            TextDecoration.BOLD,
+            TextDecoration.ITALIC,
+            TextDecoration.UNDERLINED,
+            TextDecoration.STRIKETHROUGH,
+            TextDecoration.OBFUSCATED
+    };
+
+    private ComponentNbtEncoder() {
+    }
+
+    /**
+     * Writes the given component as a nameless network NBT compound, including the leading
+     * compound tag id.
+     *
+     * @param buf the buffer the component is written to
+     * @param component the component to write
+     * @throws EncoderException if a string of the component is too long to be encoded
+     */
+    public static void write(ByteBuf buf, Component component) {
+        NbtWriter writer = new NbtWriter(buf).beginRootCompound();
+        writeComponent(writer, component, 0, true);
+    }
+
+    /**
+     * Writes the payload of the compound of a single component.
+     *
+     * @param inherited the bit mask of the {@link #DECORATIONS} enabled on the parent component
+     * @param inheritDecorations whether decorations enabled on the parent are disabled explicitly;
+     *                           this only applies along the children of the root component
+     */
+    private static void writeComponent(NbtWriter writer, Component component, int inherited, boolean inheritDecorations) {
+        if (component instanceof TextComponent text) {
+            writer.writeString("text", text.content());
+        } else if (component instanceof TranslatableComponent translatable) {
+            writer.writeString("translate", translatable.key());
+            if (translatable.fallback() != null) {
+                writer.writeString("fallback", translatable.fallback());
+            }
+
+            List<TranslationArgument> arguments = translatable.arguments();
+            if (!arguments.isEmpty()) {
+                writer.beginList("with", NbtTagIds.COMPOUND_TAG.getId(), arguments.size());
+                for (TranslationArgument argument : arguments) {
+                    writeComponent(writer, argument.asComponent(), 0, false);
+                }
+            }
+        } else if (component instanceof KeybindComponent keybind) {
+            writer.writeString("keybind", keybind.keybind());
+        } else if (component instanceof ScoreComponent score) {
+            writer.beginCompound("score");
+            writer.writeString("name", score.name());
+            writer.writeString("objective", score.objective());
+            writer.endCompound();
+        } else if (component instanceof SelectorComponent selector) {
+            writer.writeString("selector", selector.pattern());
+            if (selector.separator() != null) {
+                writer.beginCompound("separator");
+                writeComponent(writer, selector.separator(), 0, false);
+            }
+        } else {
+            writer.writeString("text", "");
+        }
+
+        int local = writeStyle(writer, component.style(), inheritDecorations ? inherited : 0);
+
+        List<Component> children = component.children();
+        if (!children.isEmpty()) {
+            writer.beginList("extra", NbtTagIds.COMPOUND_TAG.getId(), children.size());
+            for (Component child : children) {
+                writeComponent(writer, child, local, inheritDecorations);
+            }
+        }
+
+        writer.endCompound();
+    }
+
+    /**
+     * Writes the tags of the given style.
+     *
+     * @return the bit mask of the decorations children inherit
+     */
+    private static int writeStyle(NbtWriter writer, Style style, int inherited) {
+        if (style.font() != null) {
+            writer.writeString("font", style.font().asString());
+        }
+
+        TextColor color = style.color();
+        if (color != null) {
+            writer.writeString("color", color instanceof NamedTextColor named ? NamedTextColor.NAMES.key(named) : color.asHexString());
+        }
+
+        ShadowColor shadowColor = style.shadowColor();
+        if (shadowColor != null) {
+            writer.writeInt("shadow_color", shadowColor.value());
+        }
+
+        int local = 0;
+        for (int i = 0; i < DECORATIONS.length; i++) {
+            TextDecoration decoration = DECORATIONS[i];
+            TextDecoration.State state = style.decoration(decoration);
+
+            if (state != TextDecoration.State.NOT_SET) {
+                writer.writeBoolean(decoration.toString(), state == TextDecoration.State.TRUE);
+                if (state == TextDecoration.State.TRUE) local |= 1 << i;
+            } else if ((inherited & (1 << i)) != 0) {
+                writer.writeBoolean(decoration.toString(), false);
+            }
+        }
+
+        if (style.insertion() != null) {
+            writer.writeString("insertion", style.insertion());
+        }
+
+        ClickEvent clickEvent = style.clickEvent();
+        if (clickEvent != null) {
+            writeClickEvent(writer, clickEvent);
+        }
+
+        HoverEvent<?> hoverEvent = style.hoverEvent();
+        if (hoverEvent != null) {
+            writeHoverEvent(writer, hoverEvent);
+        }
+
+        return local;
+    }
+
+    private static void writeClickEvent(NbtWriter writer, ClickEvent clickEvent) {
+        ClickEvent.Action action = clickEvent.action();
+        String valueKey;
+        switch (action) {
+            case OPEN_URL -> valueKey = "url";
+            case OPEN_FILE -> valueKey = "path";
+            case RUN_COMMAND, SUGGEST_COMMAND -> valueKey = "command";
+            case CHANGE_PAGE -> valueKey = "page";
+            case COPY_TO_CLIPBOARD -> valueKey = "value";
+            default -> {
+                return;
+            }
+        }
+
+        writer.beginCompound("click_event");
+        writer.writeString("action", action.toString());
+        if (action == ClickEvent.Action.CHANGE_PAGE) {
+            writer.writeInt(valueKey, Integer.parseInt(clickEvent.value()));
+        } else {
+            writer.writeString(valueKey, clickEvent.value());
+        }
+        writer.endCompound();
+    }
+
+    private static void writeHoverEvent(NbtWriter writer, HoverEvent<?> hoverEvent) {
+        Object value = hoverEvent.value();
+        if (!(value instanceof Component) && !(value instanceof HoverEvent.ShowItem) && !(value instanceof HoverEvent.ShowEntity)) return;
+
+        writer.beginCompound("hover_event");
+        writer.writeString("action", hoverEvent.action().toString());
+
+        if (value instanceof Component text) {
+            writer.beginCompound("value");
+            writeComponent(writer, text, 0, false);
+        } else if (value instanceof HoverEvent.ShowItem showItem) {
+            writer.writeString("id", showItem.item().asString());
+            writer.writeInt("count", showItem.count());
+        } else {
+            HoverEvent.ShowEntity showEntity = (HoverEvent.ShowEntity) value;
+            writer.writeString("id", showEntity.type().asString());
+            writer.writeUuid("uuid", showEntity.id());
+            if (showEntity.name() != null) {
+                writer.beginCompound("name");
+                writeComponent(writer, showEntity.name(), 0, false);
+            }
+        }
+
+        writer.endCompound();
+    }
+}
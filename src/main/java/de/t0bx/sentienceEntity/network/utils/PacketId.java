@@ -31,12 +31,15 @@
 package de.t0bx.sentienceEntity.network.utils;
 
 public enum PacketId {
+    BUNDLE_DELIMITER,
     PLAYER_INFO_UPDATE,
     PLAYER_INFO_REMOVE,
     SPAWN_ENTITY,
     SET_ENTITY_METADATA,
     SET_HEAD_ROTATION,
     UPDATE_ENTITY_ROTATION,
+    UPDATE_ENTITY_POSITION,
+    UPDATE_ENTITY_POSITION_AND_ROTATION,
     REMOVE_ENTITY,
     TELEPORT_ENTITY,
     INTERACT_ENTITY,
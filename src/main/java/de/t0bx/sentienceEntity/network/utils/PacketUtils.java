@@ -36,7 +36,7 @@ import de.t0bx.sentienceEntity.network.inventory.item.ItemComponent;
 import de.t0bx.sentienceEntity.network.nbt.*;
 import de.t0bx.sentienceEntity.network.version.registries.ItemIdRegistry;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.EncoderException;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
@@ -46,12 +46,9 @@ import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextDecoration;
-import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
-import java.io.DataOutput;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
@@ -175,8 +172,19 @@ public class PacketUtils {
      * @param degress the angle in degrees to be encoded and written to the buffer
      */
     public static void writeAngle(ByteBuf buf, float degress) {
-        byte angleByte = (byte) (degress * 256.0f / 360.0f);
-        buf.writeByte(angleByte);
+        buf.writeByte(toAngle(degress));
+    }
+
+    /**
+     * Quantizes a floating-point angle (in degrees) to the single byte representation
+     * used by the protocol. Two angles that map to the same byte are indistinguishable
+     * for the client.
+     *
+     * @param degress the angle in degrees to be quantized
+     * @return the angle as protocol angle byte
+     */
+    public static byte toAngle(float degress) {
+        return (byte) (degress * 256.0f / 360.0f);
     }
 
     /**
@@ -203,47 +211,52 @@ public class PacketUtils {
     /**
      * Writes an optional {@link Component} to the provided {@link ByteBuf}.
      * The method first writes a boolean flag indicating whether the optional is present.
-     * If the optional contains a value, the component is serialized to JSON,
-     * converted into an {@link NbtCompoundTag}, and subsequently written to the buffer using {@code writeTag}.
+     * If the optional contains a value, the component is written as network NBT
+     * directly by the {@link ComponentNbtEncoder}.
      *
      * @param buf the buffer where the optional component will be written
      * @param optional the optional component to be serialized and written to the buffer
+     * @throws EncoderException if an error occurs during the encoding process
      */
-
     public static void writeOptionalComponent(ByteBuf buf, Optional<Component> optional) {
         buf.writeBoolean(optional.isPresent());
 
-        if (optional.isPresent()) {
-            Component component = optional.get();
+        optional.ifPresent(component -> ComponentNbtEncoder.write(buf, component));
+    }
 
-            JsonObject obj = AdventureSerializer.serialize(component);
-            NbtCompoundTag tag = convertObjectToTag(obj);
-            try {
-                writeTag(tag, new ByteBufOutputStream(buf));
-            } catch (Exception exception) {
-                throw new EncoderException(exception);
-            }
+    /**
+     * Encodes a present optional {@link Component} exactly like {@link #writeOptionalComponent(ByteBuf, Optional)}
+     * and returns the encoded bytes. The result can be cached and written into any number of packets
+     * with {@link de.t0bx.sentienceEntity.network.metadata.MetadataType#ENCODED_OPTIONAL_TEXT_COMPONENT},
+     * so the component does not have to be serialized again for every packet.
+     *
+     * @param component the component to encode
+     * @return the encoded optional component, including the leading presence flag
+     */
+    public static byte[] encodeOptionalComponent(Component component) {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            writeOptionalComponent(buf, Optional.of(component));
+
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        } finally {
+            buf.release();
         }
     }
 
     /**
-     * Serializes a {@link Component} into a JSON representation, converts it into an {@link NbtCompoundTag},
-     * and writes it to the specified {@link ByteBuf}.
-     * This method ensures that the {@link Component} is properly encoded and stored in a binary format
-     * that can later be deserialized and reconstructed.
+     * Writes a {@link Component} as network NBT to the specified {@link ByteBuf}.
+     * The component tree is encoded directly by the {@link ComponentNbtEncoder},
+     * without a JSON representation or an intermediate {@link NbtCompoundTag}.
      *
      * @param buf the buffer where the serialized {@link Component} will be written
      * @param component the {@link Component} to serialize and write to the buffer
      * @throws EncoderException if an error occurs during the encoding process
      */
     public static void writeComponent(ByteBuf buf, Component component) {
-        String json = GsonComponentSerializer.gson().serialize(component);
-        NbtCompoundTag tag = fromComponentJson(json);
-        try {
-            writeTag(tag, new ByteBufOutputStream(buf));
-        } catch (Exception exception) {
-            throw new EncoderException(exception);
-        }
+        ComponentNbtEncoder.write(buf, component);
     }
 
     public static void writeItemStack(ByteBuf buf, ItemStack itemStack) {
@@ -263,7 +276,10 @@ public class PacketUtils {
      * @param json the JSON string representation of the component to be converted
      * @return an {@link NbtCompoundTag} representing the parsed component
      * @throws IllegalArgumentException if the JSON input does not start with a JSON object
+     * @deprecated components are encoded directly by {@link #writeComponent(ByteBuf, Component)};
+     *             this method will be removed in the next release
      */
+    @Deprecated
     public static NbtCompoundTag fromComponentJson(String json) {
         JsonElement root = JsonParser.parseString(json);
         if (!root.isJsonObject()) {
@@ -273,13 +289,6 @@ public class PacketUtils {
         return convertObjectToTag(root.getAsJsonObject());
     }
 
-    private static void writeTag(NbtTag tag, DataOutput output) throws IOException {
-        output.writeByte(tag.getTagId());
-        if (tag.getTagId() != 0) {
-            tag.write(output);
-        }
-    }
-
     private static NbtCompoundTag convertObjectToTag(JsonObject obj) {
         NbtCompoundTag tag = new NbtCompoundTag();
 
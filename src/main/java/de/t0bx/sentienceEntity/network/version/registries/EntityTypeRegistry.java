@@ -30,46 +30,20 @@
 
 package de.t0bx.sentienceEntity.network.version.registries;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import de.t0bx.sentienceEntity.SentienceEntity;
-import de.t0bx.sentienceEntity.network.version.VersionRegistry;
 import org.bukkit.entity.EntityType;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.HashMap;
-import java.util.Map;
-
 public class EntityTypeRegistry {
-    private static final Map<String, Integer> entityTypes = new HashMap<>();
-
-    static {
-        String version = VersionRegistry.getVersion().getVersionString();
-        InputStream inputStream = SentienceEntity.getInstance().getClass().getResourceAsStream("/registries/" + version + ".json");
-        if (inputStream == null) throw new RuntimeException("Could not find registry for version " + version);
-
-        JsonObject root = JsonParser.parseReader(new InputStreamReader(inputStream)).getAsJsonObject();
 
-        JsonObject entites = root.getAsJsonObject("minecraft:entity_type").getAsJsonObject("entries");
-        for (Map.Entry<String, JsonElement> entry : entites.entrySet()) {
-            String key = entry.getKey();
-            int id = entry.getValue().getAsJsonObject().get("protocol_id").getAsInt();
-
-            entityTypes.put(key, id);
-        }
-    }
+    private static final int[] entityTypes = RegistryTables.ENTITY_TYPE_IDS;
 
     public static int getEntityTypeId(EntityType entityType) {
         if (entityType == null) return 0;
 
-        String entityName = "minecraft:" + entityType.name().toLowerCase();
-
-        Integer id = entityTypes.get(entityName);
-        if (id != null) return id;
+        int id = entityTypes[entityType.ordinal()];
+        if (id != RegistryTables.UNKNOWN_ID) return id;
 
-        SentienceEntity.getInstance().getLogger().warning("Could not find entity type id for " + entityName);
+        SentienceEntity.getInstance().getLogger().warning("Could not find entity type id for minecraft:" + entityType.name().toLowerCase());
         return 0;
     }
 }
@@ -34,21 +34,32 @@ import de.t0bx.sentienceEntity.network.utils.PacketId;
 import de.t0bx.sentienceEntity.network.version.ProtocolVersion;
 import de.t0bx.sentienceEntity.network.version.VersionRegistry;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class PacketIdRegistry {
     private static final Map<ProtocolVersion, EnumMap<PacketId, Integer>> REGISTRY = new HashMap<>();
 
+    /**
+     * The packet ids of the detected protocol version, indexed by {@link PacketId#ordinal()}.
+     * Frozen once when this class is initialized, after {@link #REGISTRY} has been built.
+     */
+    private static final int[] ACTIVE_IDS;
+
     static {
         var v1_21 = new EnumMap<PacketId, Integer>(PacketId.class);
+        v1_21.put(PacketId.BUNDLE_DELIMITER, 0x00); // Unchanged for all supported versions
         v1_21.put(PacketId.PLAYER_INFO_UPDATE, 0x3E);
         v1_21.put(PacketId.PLAYER_INFO_REMOVE, 0x3D);
         v1_21.put(PacketId.SPAWN_ENTITY, 0x01);
         v1_21.put(PacketId.SET_ENTITY_METADATA, 0x58);
         v1_21.put(PacketId.SET_HEAD_ROTATION, 0x48);
         v1_21.put(PacketId.UPDATE_ENTITY_ROTATION, 0x30);
+        v1_21.put(PacketId.UPDATE_ENTITY_POSITION, 0x2E);
+        v1_21.put(PacketId.UPDATE_ENTITY_POSITION_AND_ROTATION, 0x2F);
         v1_21.put(PacketId.REMOVE_ENTITY, 0x42);
         v1_21.put(PacketId.TELEPORT_ENTITY, 0x70);
         v1_21.put(PacketId.INTERACT_ENTITY, 0x16);
@@ -71,6 +82,10 @@ public class PacketIdRegistry {
                 PacketId.SET_PLAYER_TEAM, 0x67,
                 PacketId.SET_EQUIPMENT, 0x60
         ));
+        v1_21_2.putAll(Map.of(
+                PacketId.UPDATE_ENTITY_POSITION, 0x2F,
+                PacketId.UPDATE_ENTITY_POSITION_AND_ROTATION, 0x30
+        ));
         REGISTRY.put(ProtocolVersion.V1_21_2, v1_21_2);
 
         //No Changes from v1_21_2 -> v1_21_3
@@ -90,6 +105,10 @@ public class PacketIdRegistry {
                 PacketId.SET_PLAYER_TEAM, 0x66,
                 PacketId.SET_EQUIPMENT, 0x5F
         ));
+        v1_21_5.putAll(Map.of(
+                PacketId.UPDATE_ENTITY_POSITION, 0x2E,
+                PacketId.UPDATE_ENTITY_POSITION_AND_ROTATION, 0x2F
+        ));
         REGISTRY.put(ProtocolVersion.V1_21_5, v1_21_5);
 
         var v1_21_6 = cloneWithChanges(v1_21_5, Map.of(
@@ -102,25 +121,62 @@ public class PacketIdRegistry {
 
         // No changes for 1_21_8 from 1_21_6
         REGISTRY.put(ProtocolVersion.V1_21_8, v1_21_6);
+
+        ACTIVE_IDS = freeze(VersionRegistry.getVersion());
     }
 
     /**
      * Retrieves the numeric packet ID associated with the specified {@code PacketId}, based on
-     * the current {@code ProtocolVersion} of the server. This method ensures that the mapping
-     * of protocol versions to packet IDs is respected.
+     * the current {@code ProtocolVersion} of the server. The IDs of the current version are
+     * resolved once when this class is initialized, so this is a plain array access.
+     * Packet classes keep the result in a {@code static final} field.
      *
      * @param packetId the identifier of the packet for which the numeric ID is to be retrieved
      * @return the numeric ID of the specified packet, as per the current protocol version
-     * @throws IllegalArgumentException if no mapping exists for the given {@code packetId}
-     *                                  in the current protocol version
      */
     public static int getPacketId(PacketId packetId) {
-        ProtocolVersion version = VersionRegistry.getVersion();
+        return ACTIVE_IDS[packetId.ordinal()];
+    }
+
+    /**
+     * Checks that every {@link PacketId} is mapped for the detected protocol version.
+     * Calling this method initializes this class, which performs the check and fails with
+     * an {@link IllegalStateException} if a mapping is missing, so it should be called
+     * while the plugin is being enabled instead of on the first packet being sent.
+     *
+     * @return the number of mapped packet ids
+     */
+    public static int verify() {
+        return ACTIVE_IDS.length;
+    }
+
+    /**
+     * Copies the packet IDs of the given version into an array indexed by {@link PacketId#ordinal()}.
+     *
+     * @throws IllegalStateException if the version is not registered or a packet id is not mapped
+     */
+    private static int[] freeze(ProtocolVersion version) {
         EnumMap<PacketId, Integer> map = REGISTRY.get(version);
-        if (map == null || !map.containsKey(packetId)) {
-            throw new IllegalArgumentException("No packet mapping for packet id " + packetId + " in version " + version);
+        if (map == null) {
+            throw new IllegalStateException("No packet mappings registered for version " + version);
+        }
+
+        PacketId[] packetIds = PacketId.values();
+        int[] ids = new int[packetIds.length];
+        List<PacketId> missing = new ArrayList<>();
+        for (PacketId packetId : packetIds) {
+            Integer id = map.get(packetId);
+            if (id == null) {
+                missing.add(packetId);
+                continue;
+            }
+            ids[packetId.ordinal()] = id;
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("No packet mapping for packet ids " + missing + " in version " + version);
         }
-        return map.get(packetId);
+        return ids;
     }
 
     private static EnumMap<PacketId, Integer> cloneWithChanges(EnumMap<PacketId, Integer> base,
@@ -0,0 +1,167 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.network.version.registries;
+
+import com.google.gson.stream.JsonReader;
+import de.t0bx.sentienceEntity.SentienceEntity;
+import de.t0bx.sentienceEntity.network.version.VersionRegistry;
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The protocol ids of all items and entity types of the running version.
+ * <p>
+ * The registry file of the version is read once with a streaming parser that only looks at
+ * the {@code minecraft:item} and {@code minecraft:entity_type} registries and skips everything
+ * else. The ids are stored in {@code int} arrays indexed by the ordinal of the {@link Material}
+ * or {@link EntityType}, so a lookup is a single array load without building or hashing a
+ * registry key.
+ * <p>
+ * The tables are loaded when this class is first used and shared by {@link ItemIdRegistry}
+ * and {@link EntityTypeRegistry}.
+ */
+final class RegistryTables {
+
+    /**
+     * The value of a table entry that has no protocol id.
+     */
+    static final int UNKNOWN_ID = -1;
+
+    private static final String ITEM_REGISTRY = "minecraft:item";
+    private static final String ENTITY_TYPE_REGISTRY = "minecraft:entity_type";
+    private static final String NAMESPACE = "minecraft:";
+
+    static final int[] ITEM_IDS = new int[Material.values().length];
+    static final int[] ENTITY_TYPE_IDS = new int[EntityType.values().length];
+    static final List<Material> SPAWN_EGGS;
+
+    static {
+        Arrays.fill(ITEM_IDS, UNKNOWN_ID);
+        Arrays.fill(ENTITY_TYPE_IDS, UNKNOWN_ID);
+
+        Map<String, Material> materials = new HashMap<>();
+        for (Material material : Material.values()) {
+            materials.put(material.name().toLowerCase(Locale.ROOT), material);
+        }
+        Map<String, EntityType> entityTypes = new HashMap<>();
+        for (EntityType entityType : EntityType.values()) {
+            entityTypes.put(entityType.name().toLowerCase(Locale.ROOT), entityType);
+        }
+
+        List<Material> spawnEggs = new ArrayList<>();
+
+        String version = VersionRegistry.getVersion().getVersionString();
+        InputStream inputStream = SentienceEntity.getInstance().getClass().getResourceAsStream("/registries/" + version + ".json");
+        if (inputStream == null) throw new RuntimeException("Could not find registry for version " + version);
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String registry = reader.nextName();
+                switch (registry) {
+                    case ITEM_REGISTRY -> readEntries(reader, (name, id) -> {
+                        Material material = materials.get(name);
+                        if (material == null) return;
+
+                        ITEM_IDS[material.ordinal()] = id;
+                        if (name.endsWith("_spawn_egg")) {
+                            spawnEggs.add(material);
+                        }
+                    });
+                    case ENTITY_TYPE_REGISTRY -> readEntries(reader, (name, id) -> {
+                        EntityType entityType = entityTypes.get(name);
+                        if (entityType == null) return;
+
+                        ENTITY_TYPE_IDS[entityType.ordinal()] = id;
+                    });
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not read registry for version " + version, exception);
+        }
+
+        SPAWN_EGGS = spawnEggs;
+    }
+
+    private RegistryTables() {
+    }
+
+    /**
+     * Reads the entries of a single registry and passes the name without namespace and the
+     * protocol id of every entry to the given consumer.
+     */
+    private static void readEntries(JsonReader reader, EntryConsumer consumer) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("entries")) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                String name = key.startsWith(NAMESPACE) ? key.substring(NAMESPACE.length()) : key;
+
+                int id = UNKNOWN_ID;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals("protocol_id")) {
+                        id = reader.nextInt();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+
+                if (id != UNKNOWN_ID) {
+                    consumer.accept(name, id);
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+    }
+
+    @FunctionalInterface
+    private interface EntryConsumer {
+        void accept(String name, int id);
+    }
+}
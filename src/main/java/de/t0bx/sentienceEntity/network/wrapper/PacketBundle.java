@@ -0,0 +1,99 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.network.wrapper;
+
+import de.t0bx.sentienceEntity.network.wrapper.packets.PacketBundleDelimiter;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * An ordered group of packets that is sent to a player with a single flush.
+ * <p>
+ * A delimited bundle is additionally enclosed in two Bundle Delimiter packets. The client
+ * collects all packets between the delimiters and applies them together in one tick, so
+ * sequences like removing and re-adding a player NPC with a new skin are shown at once,
+ * without the NPC flickering. The client accepts at most 4096 packets in one bundle.
+ */
+@Getter
+public final class PacketBundle {
+
+    private static final int MAX_BUNDLE_SIZE = 4096;
+
+    /**
+     * The packets in sending order, including the delimiters of a delimited bundle.
+     */
+    private final PacketWrapper[] packets;
+
+    private PacketBundle(PacketWrapper[] packets) {
+        this.packets = packets;
+    }
+
+    /**
+     * Creates a bundle that sends the given packets with a single flush.
+     *
+     * @param packets the packets in sending order
+     * @return the bundle
+     */
+    public static PacketBundle of(PacketWrapper... packets) {
+        return new PacketBundle(packets.clone());
+    }
+
+    /**
+     * Creates a bundle that sends the given packets with a single flush, enclosed in
+     * Bundle Delimiter packets, so the client applies them together.
+     *
+     * @param packets the packets in sending order
+     * @return the bundle
+     * @throws IllegalArgumentException if there are more packets than the client accepts in one bundle
+     */
+    public static PacketBundle delimited(PacketWrapper... packets) {
+        if (packets.length > MAX_BUNDLE_SIZE)
+            throw new IllegalArgumentException("A bundle can contain at most " + MAX_BUNDLE_SIZE + " packets!");
+
+        PacketWrapper delimiter = new PacketBundleDelimiter();
+        PacketWrapper[] delimited = new PacketWrapper[packets.length + 2];
+        delimited[0] = delimiter;
+        System.arraycopy(packets, 0, delimited, 1, packets.length);
+        delimited[delimited.length - 1] = delimiter;
+        return new PacketBundle(delimited);
+    }
+
+    /**
+     * Creates a bundle from the given packets, see {@link #delimited(PacketWrapper...)}.
+     *
+     * @param packets the packets in sending order
+     * @return the bundle
+     */
+    public static PacketBundle delimited(List<? extends PacketWrapper> packets) {
+        return delimited(packets.toArray(new PacketWrapper[0]));
+    }
+}
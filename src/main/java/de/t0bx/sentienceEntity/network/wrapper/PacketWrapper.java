@@ -31,7 +31,53 @@
 package de.t0bx.sentienceEntity.network.wrapper;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 
+/**
+ * A clientbound packet that can be encoded into a {@link ByteBuf}.
+ * <p>
+ * Implementations write the packet id followed by the packet fields into a buffer taken
+ * from the given allocator. Senders pass the allocator of the target channel, so packets
+ * are encoded straight into Netty's pooled buffers, which are returned to the pool once
+ * the channel has written them. {@link #expectedSize()} is used as the initial capacity
+ * of that buffer, so packets with large payloads such as skin textures do not have to
+ * grow and copy their buffer while being encoded.
+ */
 public interface PacketWrapper {
-    ByteBuf build();
+
+    /**
+     * The initial buffer capacity used by packets that do not provide a better estimate.
+     */
+    int DEFAULT_EXPECTED_SIZE = 64;
+
+    /**
+     * Encodes this packet into a buffer allocated from the given allocator.
+     * The caller owns the returned buffer and is responsible for releasing it,
+     * which happens automatically when it is written to a channel.
+     *
+     * @param allocator the allocator the buffer is allocated from
+     * @return a {@code ByteBuf} containing the serialized packet data
+     */
+    ByteBuf build(ByteBufAllocator allocator);
+
+    /**
+     * Encodes this packet into a buffer allocated from {@link ByteBufAllocator#DEFAULT}.
+     * Prefer {@link #build(ByteBufAllocator)} with the allocator of the target channel.
+     *
+     * @return a {@code ByteBuf} containing the serialized packet data
+     */
+    default ByteBuf build() {
+        return build(ByteBufAllocator.DEFAULT);
+    }
+
+    /**
+     * Returns an estimate of the encoded size of this packet in bytes, used as the initial
+     * capacity of the buffer. The estimate does not have to be exact; a buffer that turns
+     * out to be too small still grows as needed.
+     *
+     * @return the expected encoded size in bytes
+     */
+    default int expectedSize() {
+        return DEFAULT_EXPECTED_SIZE;
+    }
 }
@@ -37,7 +37,7 @@ import de.t0bx.sentienceEntity.network.utils.PacketUtils;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 import lombok.Getter;
 
 import java.util.Optional;
@@ -53,7 +53,7 @@ public class PacketInteractEntity implements PacketWrapper {
     private final Optional<Float> targetZ;
     private final Optional<InteractHand> hand;
     private final boolean sneaking;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.INTERACT_ENTITY);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.INTERACT_ENTITY);
 
     /**
      * Constructs a new {@code PacketInteractEntity} instance representing a packet used for interacting
@@ -113,18 +113,29 @@ public class PacketInteractEntity implements PacketWrapper {
         return new PacketInteractEntity(entityId, type, x, y, z, hand, sneaking);
     }
 
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        return 5 + 5 + 5 + 3 * 4 + 5 + 1;
+    }
+
     /**
      * Builds and serializes the current {@code PacketInteractEntity} instance into a {@code ByteBuf}.
      * This method writes the packet ID, entity ID, interaction type, optional target coordinates,
      * the hand used for the interaction, and whether the player is sneaking into the buffer.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return a {@code ByteBuf} containing the serialized data of the {@code PacketInteractEntity} instance
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
 
         PacketUtils.writeVarInt(buf, entityId);
         PacketUtils.writeVarInt(buf, interactType.getId());
@@ -35,7 +35,7 @@ import de.t0bx.sentienceEntity.network.utils.PacketUtils;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 
 import java.util.List;
 import java.util.UUID;
@@ -43,7 +43,7 @@ import java.util.UUID;
 public class PacketPlayerInfoRemove implements PacketWrapper {
 
     private final List<UUID> uuids;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.PLAYER_INFO_REMOVE);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.PLAYER_INFO_REMOVE);
 
     /**
      * Constructs a new {@code PacketPlayerInfoRemove} instance, which is used to create a packet for
@@ -57,19 +57,30 @@ public class PacketPlayerInfoRemove implements PacketWrapper {
         this.uuids = uuids;
     }
 
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        return 5 + 5 + uuids.size() * 16;
+    }
+
     /**
      * Constructs and serializes a ByteBuf representing the Player Info Remove packet.
      * This method writes the packet ID and a list of UUIDs into the buffer in the correct
      * format for network transmission. The resulting buffer can be utilized to notify clients
      * to remove the referenced player information from their state.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return a {@code ByteBuf} containing the serialized packet data with the packet ID and UUIDs.
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
 
         PacketUtils.writeVarInt(buf, uuids.size());
         for (UUID uuid : uuids) {
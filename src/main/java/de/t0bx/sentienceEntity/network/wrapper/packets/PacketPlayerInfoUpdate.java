@@ -35,7 +35,7 @@ import de.t0bx.sentienceEntity.network.utils.PacketUtils;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 import lombok.AllArgsConstructor;
 
 import java.util.List;
@@ -117,7 +117,7 @@ public class PacketPlayerInfoUpdate implements PacketWrapper {
 
     private final List<Action> actions;
     private final List<PlayerEntry> entries;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.PLAYER_INFO_UPDATE);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.PLAYER_INFO_UPDATE);
 
     /**
      * Constructs a new {@code PacketPlayerInfoUpdate} instance for updating player information
@@ -134,6 +134,32 @@ public class PacketPlayerInfoUpdate implements PacketWrapper {
         this.entries = entries;
     }
 
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        int size = 5 + 5 + 5;
+        for (PlayerEntry entry : entries) {
+            size += 16 + 5 + 5 + 1;
+            if (entry.name != null) {
+                size += 5 + entry.name.length() * 3;
+            }
+            if (entry.properties != null) {
+                size += 5;
+                for (Property property : entry.properties) {
+                    size += 5 + property.name.length() + 5 + property.value.length() + 1;
+                    if (property.signature != null) {
+                        size += 5 + property.signature.length();
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
     /**
      * Serializes and builds a {@code ByteBuf} representing the Player Info Update packet.
      * This method constructs the packet by applying actions to a list of player entries,
@@ -141,13 +167,14 @@ public class PacketPlayerInfoUpdate implements PacketWrapper {
      * It writes data such as packet ID, action mask, and player-specific details to the buffer,
      * in the correct format for network transmission.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return a {@code ByteBuf} containing the serialized Player Info Update packet data.
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
         int mask = actions.stream().mapToInt(action -> action.bit).reduce(0, (a, b) -> a | b);
         PacketUtils.writeVarInt(buf, mask);
 
@@ -35,14 +35,14 @@ import de.t0bx.sentienceEntity.network.utils.PacketUtils;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 
 import java.util.List;
 
 public class PacketRemoveEntities implements PacketWrapper {
 
     private final List<Integer> entityIds;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.REMOVE_ENTITY);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.REMOVE_ENTITY);
 
     /**
      * Constructs a new {@code PacketRemoveEntities} instance. This packet is used for removing
@@ -55,19 +55,30 @@ public class PacketRemoveEntities implements PacketWrapper {
         this.entityIds = entityIds;
     }
 
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        return 5 + 5 + entityIds.size() * 5;
+    }
+
     /**
      * Constructs and serializes a ByteBuf representing the Remove Entities packet.
      * This method writes the packet ID and a collection of entity IDs into the buffer
      * in the correct format for network transmission. The resulting buffer can be sent
      * to clients to notify them of the removal of entities.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return a {@code ByteBuf} containing the serialized packet data with the packet ID and entity IDs.
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
 
         PacketUtils.writeVarInt(buf, entityIds.size());
         for (Integer id : entityIds) {
@@ -36,7 +36,7 @@ import de.t0bx.sentienceEntity.network.utils.PacketUtils;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 
 import java.util.List;
 
@@ -44,7 +44,7 @@ public class PacketSetEntityMetadata implements PacketWrapper {
 
     private final int entityId;
     private final List<MetadataEntry> metadata;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.SET_ENTITY_METADATA);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.SET_ENTITY_METADATA);
 
     /**
      * Constructs a new {@code PacketSetEntityMetadata} instance, which is used to represent
@@ -61,6 +61,20 @@ public class PacketSetEntityMetadata implements PacketWrapper {
         this.metadata = metadata;
     }
 
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        int size = 5 + 5 + 1;
+        for (MetadataEntry entry : metadata) {
+            size += entry.value instanceof byte[] bytes ? 6 + bytes.length : 24;
+        }
+        return size;
+    }
+
     /**
      * Constructs and serializes a ByteBuf representing the Set Entity Metadata packet.
      * This method writes various fields such as packet ID, entity ID, and metadata entries,
@@ -68,13 +82,14 @@ public class PacketSetEntityMetadata implements PacketWrapper {
      * with support for byte, variable integer, float, string, and boolean values. The packet is
      * finalized with a specific termination byte.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return a {@code ByteBuf} containing the serialized packet data for setting entity metadata.
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
 
         PacketUtils.writeVarInt(buf, entityId);
 
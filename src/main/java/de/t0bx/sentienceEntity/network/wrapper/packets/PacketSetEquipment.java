@@ -6,7 +6,7 @@ import de.t0bx.sentienceEntity.network.utils.PacketUtils;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 
 import java.util.List;
 
@@ -14,7 +14,7 @@ public class PacketSetEquipment implements PacketWrapper {
 
     private final int entityId;
     private final List<Equipment> equipment;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.SET_EQUIPMENT);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.SET_EQUIPMENT);
 
     public PacketSetEquipment(int entityId, List<Equipment> equipment) {
         this.entityId = entityId;
@@ -22,10 +22,15 @@ public class PacketSetEquipment implements PacketWrapper {
     }
 
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public int expectedSize() {
+        return 5 + 5 + equipment.size() * 64;
+    }
+
+    @Override
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
         PacketUtils.writeVarInt(buf, entityId);
 
         for (int i = 0; i < equipment.size(); i++) {
@@ -35,13 +35,13 @@ import de.t0bx.sentienceEntity.network.utils.PacketUtils;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 
 public class PacketSetHeadRotation implements PacketWrapper {
 
     private final int entityId;
     private final float headYaw;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.SET_HEAD_ROTATION);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.SET_HEAD_ROTATION);
 
     /**
      * Constructs a new {@code PacketSetHeadRotation} instance used for setting the head rotation
@@ -56,18 +56,29 @@ public class PacketSetHeadRotation implements PacketWrapper {
         this.headYaw = headYaw;
     }
 
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        return 5 + 5 + 1;
+    }
+
     /**
      * Builds and serializes a ByteBuf representing the Set Head Rotation packet.
      * This method writes the packet ID, entity ID, and head yaw angle into the buffer
      * in the correct format for network transmission.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return a {@code ByteBuf} containing the serialized packet data.
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
 
         PacketUtils.writeVarInt(buf, entityId);
         PacketUtils.writeAngle(buf, headYaw);
@@ -38,7 +38,7 @@ import de.t0bx.sentienceEntity.network.version.VersionRegistry;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 import lombok.AllArgsConstructor;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 
@@ -54,20 +54,35 @@ public class PacketSetPlayerTeam implements PacketWrapper {
     private final String collisionRule;
     private final int color;
     private final List<String> entities;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.SET_PLAYER_TEAM);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.SET_PLAYER_TEAM);
+
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        int size = 5 + 256;
+        for (String entity : entities) {
+            size += 5 + entity.length() * 3;
+        }
+        return size;
+    }
 
     /**
      * Constructs a {@link ByteBuf} representing the packet for setting player team data.
      * This method encodes the necessary fields of the team such as team name, methods, attributes,
      * components, and entity list into the packet buffer.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return A {@link ByteBuf} containing the encoded packet data for setting player team.
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
 
         try {
             PacketUtils.writeString(buf, teamName);
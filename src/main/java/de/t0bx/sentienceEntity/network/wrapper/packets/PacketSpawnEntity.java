@@ -36,7 +36,7 @@ import de.t0bx.sentienceEntity.network.version.registries.EntityTypeRegistry;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 import org.bukkit.Location;
 import org.bukkit.entity.EntityType;
 
@@ -53,7 +53,7 @@ public class PacketSpawnEntity implements PacketWrapper {
     private final short velocityX;
     private final short velocityY;
     private final short velocityZ;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.SPAWN_ENTITY);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.SPAWN_ENTITY);
 
     /**
      * Constructs a new {@code PacketSpawnEntity} instance used for initializing the spawn entity packet
@@ -85,19 +85,30 @@ public class PacketSpawnEntity implements PacketWrapper {
     }
 
 
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        return 5 + 5 + 16 + 5 + 3 * 8 + 3 + 5 + 3 * 2;
+    }
+
     /**
      * Constructs and serializes a ByteBuf representing the Spawn Entity packet.
      * This method writes various fields such as packet ID, entity ID, UUID, entity type,
      * location coordinates, rotation angles (pitch, yaw, head yaw), entity data, and velocity components
      * to a buffer in the correct format for network transmission.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return a {@code ByteBuf} containing the serialized packet data.
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
 
         PacketUtils.writeVarInt(buf, entityId);
         PacketUtils.writeUUID(buf, uuid);
@@ -37,7 +37,7 @@ import de.t0bx.sentienceEntity.network.version.VersionRegistry;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 import org.bukkit.Location;
 
 public class PacketTeleportEntity implements PacketWrapper {
@@ -48,7 +48,7 @@ public class PacketTeleportEntity implements PacketWrapper {
     private final double velocityY;
     private final double velocityZ;
     private final boolean onGround;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.TELEPORT_ENTITY);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.TELEPORT_ENTITY);
 
     /**
      * Constructs a new {@code PacketTeleportEntity} instance used for teleporting an entity
@@ -72,19 +72,30 @@ public class PacketTeleportEntity implements PacketWrapper {
         this.onGround = onGround;
     }
 
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        return 5 + 5 + 6 * 8 + 2 * 4 + 1;
+    }
+
     /**
      * Constructs and serializes a {@code ByteBuf} representing the Teleport Entity packet.
      * This method encodes various fields including the packet ID, target location, velocity
      * components, and on-ground status of the entity into a buffer in the correct format
      * for network transmission.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return a {@code ByteBuf} containing the serialized packet data for the Teleport Entity packet.
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
 
         PacketUtils.writeVarInt(buf, entityId);
 
@@ -35,7 +35,7 @@ import de.t0bx.sentienceEntity.network.utils.PacketUtils;
 import de.t0bx.sentienceEntity.network.version.registries.PacketIdRegistry;
 import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 
 public class PacketUpdateEntityRotation implements PacketWrapper {
 
@@ -43,7 +43,7 @@ public class PacketUpdateEntityRotation implements PacketWrapper {
     private final float yaw;
     private final float pitch;
     private final boolean onGround;
-    private final int packetId = PacketIdRegistry.getPacketId(PacketId.UPDATE_ENTITY_ROTATION);
+    private static final int PACKET_ID = PacketIdRegistry.getPacketId(PacketId.UPDATE_ENTITY_ROTATION);
 
     /**
      * Constructs a new {@code PacketUpdateEntityRotation} instance used to update the rotation
@@ -62,18 +62,29 @@ public class PacketUpdateEntityRotation implements PacketWrapper {
         this.onGround = onGround;
     }
 
+    /**
+     * Estimates the encoded size of this packet, used as the initial buffer capacity.
+     *
+     * @return the expected size in bytes.
+     */
+    @Override
+    public int expectedSize() {
+        return 5 + 5 + 2 + 1;
+    }
+
     /**
      * Constructs and serializes a ByteBuf representing the Update Entity Rotation packet.
      * This method writes various fields such as packet ID, entity ID, yaw, pitch, and the on-ground status
      * to a buffer in the correct format for network transmission.
      *
+     * @param allocator the allocator the buffer is allocated from.
      * @return a {@code ByteBuf} containing the serialized packet data for updating an entity's rotation.
      */
     @Override
-    public ByteBuf build() {
-        ByteBuf buf = Unpooled.buffer();
+    public ByteBuf build(ByteBufAllocator allocator) {
+        ByteBuf buf = allocator.buffer(expectedSize());
 
-        PacketUtils.writeVarInt(buf, packetId);
+        PacketUtils.writeVarInt(buf, PACKET_ID);
 
         PacketUtils.writeVarInt(buf, entityId);
         PacketUtils.writeAngle(buf, yaw);
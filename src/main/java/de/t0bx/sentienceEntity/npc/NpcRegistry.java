@@ -0,0 +1,295 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.npc;
+
+import de.t0bx.sentienceEntity.utils.collection.IntObjectHashMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A thread-safe registry of all loaded NPCs, indexed by name and by entity id.
+ * <p>
+ * Reads are served from an immutable snapshot published through a {@code volatile} field.
+ * Readers on any thread, such as the Netty event loops resolving interacted entity ids,
+ * always see a complete and consistent snapshot and can never run into a
+ * {@link java.util.ConcurrentModificationException}. Changes are applied to a master map
+ * and only mark the snapshot as stale; it is rebuilt once by the next read. Creating many
+ * NPCs one after another therefore costs a single rebuild instead of one per NPC, and reads
+ * only take the lock while the snapshot is stale. Lookups by name are answered from the master
+ * map while the snapshot is stale, so they never trigger a rebuild.
+ * Entity ids map directly to their NPC through a primitive int-keyed map, so a lookup by
+ * id neither boxes the id nor needs a second lookup by name.
+ * <p>
+ * Each snapshot also holds immutable lists of all NPCs, of the NPCs that look at or sneak
+ * with players and of the NPCs per world. Hot paths such as event listeners iterate these
+ * lists directly instead of copying or filtering the registry on every call. As these
+ * sub-indexes depend on the settings and the world of the NPCs, {@link #refresh()} has to be
+ * called whenever one of them changes; {@link SentienceNPC} does so from its setters.
+ * <p>
+ * Changes are serialized. {@link #registerAll(Collection)} adds many NPCs under a single lock.
+ */
+public final class NpcRegistry {
+
+    private final Map<String, SentienceNPC> byName = new LinkedHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Adds the given NPC, replacing any NPC registered under the same name.
+     *
+     * @param npc the NPC to add
+     */
+    public synchronized void register(SentienceNPC npc) {
+        this.byName.put(npc.getName(), npc);
+        this.snapshot = null;
+    }
+
+    /**
+     * Adds all given NPCs under a single lock, replacing any NPCs registered under the same names.
+     *
+     * @param npcs the NPCs to add
+     */
+    public synchronized void registerAll(Collection<SentienceNPC> npcs) {
+        if (npcs.isEmpty()) return;
+
+        for (SentienceNPC npc : npcs) {
+            this.byName.put(npc.getName(), npc);
+        }
+        this.snapshot = null;
+    }
+
+    /**
+     * Removes the NPC registered under the given name.
+     *
+     * @param name the name of the NPC
+     * @return the removed NPC, or {@code null} if no NPC is registered under the name
+     */
+    public synchronized @Nullable SentienceNPC unregister(String name) {
+        SentienceNPC removed = this.byName.remove(name);
+        if (removed != null) {
+            this.snapshot = null;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all NPCs.
+     */
+    public synchronized void clear() {
+        this.byName.clear();
+        this.snapshot = Snapshot.EMPTY;
+    }
+
+    /**
+     * Marks the sub-indexes of the current snapshot as stale, so they are rebuilt by the next
+     * read. Must be called after the look or sneak setting or the world of a registered NPC
+     * has changed.
+     */
+    public synchronized void refresh() {
+        this.snapshot = null;
+    }
+
+    /**
+     * Returns the NPC registered under the given name.
+     *
+     * @param name the name of the NPC
+     * @return the NPC, or {@code null} if no NPC is registered under the name
+     */
+    public @Nullable SentienceNPC get(String name) {
+        Snapshot current = this.snapshot;
+        if (current != null) return current.byName.get(name);
+
+        synchronized (this) {
+            return this.byName.get(name);
+        }
+    }
+
+    /**
+     * Returns the NPC with the given entity id.
+     *
+     * @param entityId the entity id of the NPC
+     * @return the NPC, or {@code null} if no NPC has the entity id
+     */
+    public @Nullable SentienceNPC get(int entityId) {
+        return this.snapshot().byId.get(entityId);
+    }
+
+    /**
+     * Checks whether an NPC is registered under the given name.
+     *
+     * @param name the name of the NPC
+     * @return {@code true} if an NPC is registered under the name
+     */
+    public boolean contains(String name) {
+        Snapshot current = this.snapshot;
+        if (current != null) return current.byName.containsKey(name);
+
+        synchronized (this) {
+            return this.byName.containsKey(name);
+        }
+    }
+
+    /**
+     * Checks whether an NPC has the given entity id.
+     *
+     * @param entityId the entity id
+     * @return {@code true} if an NPC has the entity id
+     */
+    public boolean contains(int entityId) {
+        return this.snapshot().byId.containsKey(entityId);
+    }
+
+    /**
+     * Returns the number of registered NPCs.
+     *
+     * @return the number of NPCs
+     */
+    public int size() {
+        Snapshot current = this.snapshot;
+        if (current != null) return current.byName.size();
+
+        synchronized (this) {
+            return this.byName.size();
+        }
+    }
+
+    /**
+     * Returns an unmodifiable view of the current snapshot, mapping the NPC names to the NPCs.
+     * The view does not reflect later changes of the registry.
+     *
+     * @return the NPCs by name
+     */
+    public Map<String, SentienceNPC> asMap() {
+        return this.snapshot().byNameView;
+    }
+
+    /**
+     * Returns all registered NPCs as an immutable list.
+     *
+     * @return the NPCs
+     */
+    public List<SentienceNPC> all() {
+        return this.snapshot().all;
+    }
+
+    /**
+     * Returns the NPCs that look at nearby players as an immutable list.
+     *
+     * @return the NPCs with the look setting enabled
+     */
+    public List<SentienceNPC> lookingAtPlayer() {
+        return this.snapshot().lookingAtPlayer;
+    }
+
+    /**
+     * Returns the NPCs that sneak with players as an immutable list.
+     *
+     * @return the NPCs with the sneak setting enabled
+     */
+    public List<SentienceNPC> sneakingWithPlayer() {
+        return this.snapshot().sneakingWithPlayer;
+    }
+
+    /**
+     * Returns the NPCs located in the given world as an immutable list.
+     *
+     * @param world the world
+     * @return the NPCs in the world, or an empty list if there are none
+     */
+    public List<SentienceNPC> inWorld(World world) {
+        return this.snapshot().byWorld.getOrDefault(world.getUID(), List.of());
+    }
+
+    /**
+     * Returns the current snapshot, rebuilding it first if a change marked it as stale.
+     *
+     * @return the current snapshot
+     */
+    private Snapshot snapshot() {
+        Snapshot current = this.snapshot;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (this.snapshot == null) {
+                this.snapshot = Snapshot.of(new LinkedHashMap<>(this.byName));
+            }
+            return this.snapshot;
+        }
+    }
+
+    /**
+     * An immutable state of the registry.
+     */
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = of(Map.of());
+
+        private final Map<String, SentienceNPC> byName;
+        private final Map<String, SentienceNPC> byNameView;
+        private final IntObjectHashMap<SentienceNPC> byId;
+        private final List<SentienceNPC> all;
+        private final List<SentienceNPC> lookingAtPlayer;
+        private final List<SentienceNPC> sneakingWithPlayer;
+        private final Map<UUID, List<SentienceNPC>> byWorld;
+
+        private Snapshot(Map<String, SentienceNPC> byName) {
+            this.byName = byName;
+            this.byNameView = Collections.unmodifiableMap(byName);
+            this.byId = new IntObjectHashMap<>(byName.size());
+
+            List<SentienceNPC> looking = new ArrayList<>();
+            List<SentienceNPC> sneaking = new ArrayList<>();
+            Map<UUID, List<SentienceNPC>> worlds = new HashMap<>();
+            for (SentienceNPC npc : byName.values()) {
+                this.byId.put(npc.getEntityId(), npc);
+                if (npc.isShouldLookAtPlayer()) looking.add(npc);
+                if (npc.isShouldSneakWithPlayer()) sneaking.add(npc);
+
+                Location location = npc.getLocation();
+                if (location != null && location.getWorld() != null) {
+                    worlds.computeIfAbsent(location.getWorld().getUID(), id -> new ArrayList<>()).add(npc);
+                }
+            }
+
+            this.all = List.copyOf(byName.values());
+            this.lookingAtPlayer = List.copyOf(looking);
+            this.sneakingWithPlayer = List.copyOf(sneaking);
+            worlds.replaceAll((id, npcs) -> List.copyOf(npcs));
+            this.byWorld = worlds;
+        }
+
+        private static Snapshot of(Map<String, SentienceNPC> byName) {
+            return new Snapshot(byName);
+        }
+    }
+}
@@ -39,6 +39,12 @@ import de.t0bx.sentienceEntity.hologram.SentienceHologram;
 import de.t0bx.sentienceEntity.network.inventory.equipment.EquipmentSlot;
 import de.t0bx.sentienceEntity.network.utils.NpcProfile;
 import de.t0bx.sentienceEntity.network.wrapper.packets.PacketPlayerInfoUpdate;
+import de.t0bx.sentienceEntity.npc.tracker.NpcLookEngine;
+import de.t0bx.sentienceEntity.npc.tracker.NpcSpatialIndex;
+import de.t0bx.sentienceEntity.npc.tracker.NpcTracker;
+import de.t0bx.sentienceEntity.path.SentiencePathHandler;
+import de.t0bx.sentienceEntity.storage.StorageBackend;
+import de.t0bx.sentienceEntity.storage.StorageCategory;
 import de.t0bx.sentienceEntity.utils.JsonDocument;
 import de.t0bx.sentienceEntity.utils.ReflectionUtils;
 import de.t0bx.sentienceEntity.utils.SkinFetcher;
@@ -46,33 +52,28 @@ import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
-import java.util.logging.Level;
 
 public class NpcsHandler {
 
-    private final Map<String, SentienceNPC> npcCache;
-    private final Map<Integer, String> npcIdCache;
+    private final NpcRegistry registry;
     @Getter
-    private final Set<Integer> npcIds;
-    private JsonDocument jsonDocument;
+    private final NpcSpatialIndex spatialIndex;
+    private final StorageBackend storage;
     private final SkinFetcher skinFetcher;
-    private final File file;
 
     public NpcsHandler() {
-        this.npcCache = new HashMap<>();
-        this.npcIdCache = new HashMap<>();
-        this.npcIds = new HashSet<>();
+        this.registry = new NpcRegistry();
+        this.spatialIndex = new NpcSpatialIndex();
         this.skinFetcher = SentienceEntity.getInstance().getSkinFetcher();
-        this.file = new File(SentienceEntity.getInstance().getDataFolder(), "npcs.json");
+        this.storage = SentienceEntity.getInstance().getStorageBackend();
         this.loadNPCsFromFile();
     }
 
@@ -101,17 +102,13 @@ public class NpcsHandler {
             SentienceNPC npc = new SentienceNPC(npcName, npcEntityId, entityType, npcProfile);
             npc.setLocation(location);
 
-            this.npcCache.put(npcName, npc);
-            this.npcIdCache.put(npc.getEntityId(), npcName);
-            this.npcIds.add(npc.getEntityId());
+            this.registerNPC(npc);
 
             if (persistent) {
                 this.saveNPCtoFile(npc);
             }
 
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                this.spawnNPC(npcName, player);
-            }
+            this.showToNearbyPlayers(npc);
         });
     }
 
@@ -142,26 +139,18 @@ public class NpcsHandler {
                 properties.add(new PacketPlayerInfoUpdate.Property("textures", skinValue, skinSignature));
                 npcProfile.setProperties(properties);
 
-                this.npcCache.put(npcName, npc);
-                this.npcIdCache.put(npc.getEntityId(), npcName);
-                this.npcIds.add(npc.getEntityId());
+                this.registerNPC(npc);
 
                 this.saveNPCtoFile(npc);
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    this.spawnNPC(npcName, player);
-                }
+                this.showToNearbyPlayers(npc);
             });
             return;
         }
 
-        this.npcCache.put(npcName, npc);
-        this.npcIdCache.put(npc.getEntityId(), npcName);
-        this.npcIds.add(npc.getEntityId());
+        this.registerNPC(npc);
 
         this.saveNPCtoFile(npc);
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            this.spawnNPC(npcName, player);
-        }
+        this.showToNearbyPlayers(npc);
     }
 
     /**
@@ -188,13 +177,9 @@ public class NpcsHandler {
         SentienceNPC npc = new SentienceNPC(npcName, npcEntityId, EntityType.PLAYER, npcProfile);
         npc.setLocation(location);
 
-        this.npcCache.put(npcName, npc);
-        this.npcIdCache.put(npc.getEntityId(), npcName);
-        this.npcIds.add(npc.getEntityId());
+        this.registerNPC(npc);
         this.saveNPCtoFile(npc);
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            this.spawnNPC(npcName, player);
-        }
+        this.showToNearbyPlayers(npc);
     }
 
     /**
@@ -229,14 +214,10 @@ public class NpcsHandler {
             SentienceNPC npc = new SentienceNPC(npcName, npcEntityId, entityType, npcProfile);
             npc.setLocation(location);
 
-            this.npcCache.put(npcName, npc);
-            this.npcIdCache.put(npc.getEntityId(), npcName);
-            this.npcIds.add(npc.getEntityId());
+            this.registerNPC(npc);
             this.saveNPCtoFile(npc);
 
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                this.spawnNPC(npcName, player);
-            }
+            this.showToNearbyPlayers(npc);
 
             if (callback != null) {
                 callback.run();
@@ -253,22 +234,29 @@ public class NpcsHandler {
      * @param npcName The name of the NPC to be removed. If the NPC does not exist, no changes are made.
      */
     public void removeNPC(String npcName) {
-        this.jsonDocument = JsonDocument.loadDocument(this.file);
-        if (this.jsonDocument == null) return;
-        if (!this.npcCache.containsKey(npcName)) return;
+        SentienceNPC npc = this.registry.unregister(npcName);
+        if (npc == null) return;
 
-        SentienceNPC npc = this.npcCache.remove(npcName);
         npc.despawnAll();
-        this.npcIds.remove(npc.getEntityId());
-        this.npcIdCache.remove(npc.getEntityId());
+        npc.invalidateSpawnBundle();
+        this.spatialIndex.remove(npc);
 
-        this.jsonDocument.remove(npcName);
+        NpcTracker tracker = SentienceEntity.getInstance().getNpcTracker();
+        if (tracker != null) {
+            tracker.forgetNpc(npc);
+        }
+
+        NpcLookEngine lookEngine = SentienceEntity.getInstance().getNpcLookEngine();
+        if (lookEngine != null) {
+            lookEngine.forgetNpc(npc);
+        }
 
-        try {
-            this.jsonDocument.save(this.file);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save Npc File", exception);
+        SentiencePathHandler pathHandler = SentienceEntity.getInstance().getSentiencePathHandler();
+        if (pathHandler != null) {
+            pathHandler.stopPath(npc.getEntityId());
         }
+
+        this.storage.delete(StorageCategory.NPCS, npcName);
     }
 
     /**
@@ -277,7 +265,7 @@ public class NpcsHandler {
      * @return a list of strings representing the names of all cached NPCs.
      */
     public List<String> getNPCNames() {
-        return new ArrayList<>(this.npcCache.keySet());
+        return new ArrayList<>(this.registry.asMap().keySet());
     }
 
     /**
@@ -287,21 +275,19 @@ public class NpcsHandler {
      * @return the total count of loaded NPCs in the cache.
      */
     public int getLoadedSize() {
-        return this.npcCache.size();
+        return this.registry.size();
     }
 
     private void loadNPCsFromFile() {
-        this.jsonDocument = JsonDocument.loadDocument(this.file);
-
-        if (this.jsonDocument == null || this.jsonDocument.getJsonObject() == null) {
-            return;
-        }
+        Map<String, JsonObject> allNPCs = this.storage.loadAll(StorageCategory.NPCS);
+        if (allNPCs.isEmpty()) return;
 
-        JsonObject allNPCs = this.jsonDocument.getJsonObject();
+        int nextEntityId = ReflectionUtils.reserveEntityIds(allNPCs.size());
+        List<SentienceNPC> loadedNPCs = new ArrayList<>(allNPCs.size());
 
-        for (Map.Entry<String, JsonElement> entry : allNPCs.entrySet()) {
+        for (Map.Entry<String, JsonObject> entry : allNPCs.entrySet()) {
             String npcName = entry.getKey();
-            JsonObject data = entry.getValue().getAsJsonObject();
+            JsonObject data = entry.getValue();
 
             EntityType entityType = EntityType.valueOf(data.get("type").getAsString().toUpperCase());
 
@@ -317,7 +303,7 @@ public class NpcsHandler {
             Location location = new Location(Bukkit.getWorld(worldName), x, y, z, yaw, pitch);
 
             UUID npcUUID = UUID.randomUUID();
-            int npcEntityId = ReflectionUtils.generateValidMinecraftEntityId();
+            int npcEntityId = nextEntityId++;
 
             NpcProfile npcProfile = new NpcProfile("", npcEntityId, npcUUID);
 
@@ -356,10 +342,11 @@ public class NpcsHandler {
                 npc.setBoundedPathName(path);
             }
 
-            this.npcCache.put(npcName, npc);
-            this.npcIds.add(npc.getEntityId());
-            this.npcIdCache.put(npc.getEntityId(), npcName);
+            loadedNPCs.add(npc);
         }
+
+        this.registry.registerAll(loadedNPCs);
+        loadedNPCs.forEach(this.spatialIndex::add);
     }
 
     /**
@@ -370,20 +357,11 @@ public class NpcsHandler {
      * @param path the new path to assign to the NPC
      */
     public void setPath(String npcName, String path) {
-        SentienceNPC npc = this.npcCache.get(npcName);
+        SentienceNPC npc = this.registry.get(npcName);
         if (npc == null) return;
         npc.setBoundedPathName(path);
 
-        this.jsonDocument = JsonDocument.loadDocument(this.file);
-        if (this.jsonDocument == null) return;
-
-        this.jsonDocument.update(npcName + ".path", path);
-
-        try {
-            this.jsonDocument.save(this.file);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save Npc File", exception);
-        }
+        this.storage.update(StorageCategory.NPCS, npcName, record -> JsonDocument.update(record, "path", path));
     }
 
     /**
@@ -393,20 +371,78 @@ public class NpcsHandler {
      * @return the NPC object associated with the given name, or null if no NPC is found
      */
     public SentienceNPC getNPC(String npcName) {
-        return this.npcCache.getOrDefault(npcName, null);
+        return this.registry.get(npcName);
+    }
+
+    /**
+     * Retrieves an NPC (Non-Player Character) by its entity ID.
+     * This lookup is thread-safe and may be used from the Netty event loop.
+     *
+     * @param entityId the entity ID of the NPC to retrieve
+     * @return the NPC with the given entity ID, or null if no NPC is found
+     */
+    public @Nullable SentienceNPC getNPC(int entityId) {
+        return this.registry.get(entityId);
+    }
+
+    /**
+     * Checks whether the given entity ID belongs to an NPC (Non-Player Character).
+     * This lookup is thread-safe and may be used from the Netty event loop.
+     *
+     * @param entityId the entity ID to check
+     * @return true if an NPC has the given entity ID; false otherwise
+     */
+    public boolean isNpc(int entityId) {
+        return this.registry.contains(entityId);
     }
 
     /**
      * Retrieves a set containing all NPCs (Non-Player Characters) currently stored in the internal cache.
+     * The set is a new copy on every call, frequently called code should use {@link #getNPCs()} instead.
      *
      * @return a set of SentienceNPC objects representing all cached NPCs.
      */
     public Set<SentienceNPC> getAllNPCs() {
-        Set<SentienceNPC> npcs = new HashSet<>();
-        for (Map.Entry<String, SentienceNPC> entry : this.npcCache.entrySet()) {
-            npcs.add(entry.getValue());
-        }
-        return npcs;
+        return new HashSet<>(this.registry.all());
+    }
+
+    /**
+     * Retrieves an immutable list of all NPCs (Non-Player Characters) currently stored in the cache.
+     * The list is shared between callers and only replaced when NPCs are created, removed or changed,
+     * so iterating it does not copy anything.
+     *
+     * @return an immutable list of all cached NPCs.
+     */
+    public List<SentienceNPC> getNPCs() {
+        return this.registry.all();
+    }
+
+    /**
+     * Retrieves an immutable list of all NPCs (Non-Player Characters) located in the specified world.
+     *
+     * @param world the world to retrieve the NPCs of
+     * @return an immutable list of the cached NPCs in the world, empty if there are none.
+     */
+    public List<SentienceNPC> getNPCs(World world) {
+        return this.registry.inWorld(world);
+    }
+
+    /**
+     * Retrieves an immutable list of all NPCs (Non-Player Characters) that look at nearby players.
+     *
+     * @return an immutable list of the cached NPCs with the "look at player" behavior enabled.
+     */
+    public List<SentienceNPC> getLookingNPCs() {
+        return this.registry.lookingAtPlayer();
+    }
+
+    /**
+     * Retrieves an immutable list of all NPCs (Non-Player Characters) that sneak with players.
+     *
+     * @return an immutable list of the cached NPCs with the "sneak with player" behavior enabled.
+     */
+    public List<SentienceNPC> getSneakingNPCs() {
+        return this.registry.sneakingWithPlayer();
     }
 
     /**
@@ -416,17 +452,39 @@ public class NpcsHandler {
      * @return The name of the NPC associated with the given entity ID, or null if no match is found in the cache.
      */
     public String getNpcNameFromId(int entityId) {
-        return this.npcIdCache.getOrDefault(entityId, null);
+        SentienceNPC npc = this.registry.get(entityId);
+        return npc == null ? null : npc.getName();
     }
 
     /**
-     * Retrieves the internal map of NPCs (Non-Player Characters) currently stored in the cache.
+     * Retrieves an unmodifiable snapshot of the NPCs (Non-Player Characters) currently stored in the cache.
+     * The snapshot does not reflect NPCs that are created or removed afterwards, and it can no longer
+     * be used to modify the cache: every mutating call throws an {@link UnsupportedOperationException}.
+     * NPCs have to be created and removed through {@link #createNPC} and {@link #removeNPC(String)}.
      *
      * @return a map where the keys are NPC names (as Strings) and the values are
      *         corresponding SentienceNPC objects representing the NPC instances.
      */
     public Map<String, SentienceNPC> getNPCMap() {
-        return this.npcCache;
+        return this.registry.asMap();
+    }
+
+    /**
+     * Retrieves the entity IDs of all NPCs (Non-Player Characters) currently stored in the cache.
+     * The returned set is an unmodifiable snapshot and does not reflect NPCs that are created or
+     * removed afterwards.
+     *
+     * @return an unmodifiable set of the entity IDs of all cached NPCs.
+     * @deprecated use {@link #isNpc(int)} or {@link #getNPC(int)} to check or resolve a single entity ID
+     */
+    @Deprecated
+    public Set<Integer> getNpcIds() {
+        List<SentienceNPC> npcs = this.registry.all();
+        Set<Integer> ids = new HashSet<>(npcs.size() * 2);
+        for (SentienceNPC npc : npcs) {
+            ids.add(npc.getEntityId());
+        }
+        return Collections.unmodifiableSet(ids);
     }
 
     /**
@@ -436,7 +494,7 @@ public class NpcsHandler {
      * @return true if an NPC with the given name exists in the cache; false otherwise.
      */
     public boolean doesNPCExist(String npcName) {
-        return this.npcCache.containsKey(npcName);
+        return this.registry.contains(npcName);
     }
 
     /**
@@ -450,7 +508,7 @@ public class NpcsHandler {
      */
     public void updateSkin(String npcName, String playerName, boolean persistent) {
 
-        SentienceNPC npc = this.npcCache.get(npcName);
+        SentienceNPC npc = this.registry.get(npcName);
         if (npc == null) return;
 
         this.skinFetcher.fetchSkin(playerName, (skinValue, skinSignature) -> {
@@ -459,16 +517,10 @@ public class NpcsHandler {
             npc.changeSkin(skinValue, skinSignature);
 
             if (persistent) {
-                this.jsonDocument = JsonDocument.loadDocument(this.file);
-                if (this.jsonDocument == null) return;
-                this.jsonDocument.update(npcName + ".skin-value", skinValue);
-                this.jsonDocument.update(npcName + ".skin-signature", skinSignature);
-
-                try {
-                    this.jsonDocument.save(this.file);
-                } catch (IOException exception) {
-                    SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save Npc File", exception);
-                }
+                this.storage.update(StorageCategory.NPCS, npcName, record -> {
+                    JsonDocument.update(record, "skin-value", skinValue);
+                    JsonDocument.update(record, "skin-signature", skinSignature);
+                });
             }
         });
     }
@@ -484,9 +536,7 @@ public class NpcsHandler {
      *                 Must not be null and should contain valid coordinates and world information.
      */
     public void updateLocation(String npcName, Location location) {
-        this.jsonDocument = JsonDocument.loadDocument(this.file);
-        SentienceNPC npc = this.npcCache.get(npcName);
-        if (this.jsonDocument == null) return;
+        SentienceNPC npc = this.registry.get(npcName);
         if (npc == null) return;
 
         npc.teleport(location);
@@ -496,18 +546,16 @@ public class NpcsHandler {
             hologram.updateLocation(location);
         }
 
-        this.jsonDocument.update(npcName + ".location-x", location.getX());
-        this.jsonDocument.update(npcName + ".location-y", location.getY());
-        this.jsonDocument.update(npcName + ".location-z", location.getZ());
-        this.jsonDocument.update(npcName + ".location-yaw", location.getYaw());
-        this.jsonDocument.update(npcName + ".location-pitch", location.getPitch());
-        this.jsonDocument.update(npcName + ".location-world", location.getWorld().getName());
-
-        try {
-            this.jsonDocument.save(this.file);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save Npc File", exception);
-        }
+        this.showToNearbyPlayers(npc);
+
+        this.storage.update(StorageCategory.NPCS, npcName, record -> {
+            JsonDocument.update(record, "location-x", location.getX());
+            JsonDocument.update(record, "location-y", location.getY());
+            JsonDocument.update(record, "location-z", location.getZ());
+            JsonDocument.update(record, "location-yaw", location.getYaw());
+            JsonDocument.update(record, "location-pitch", location.getPitch());
+            JsonDocument.update(record, "location-world", location.getWorld().getName());
+        });
     }
 
     /**
@@ -518,43 +566,29 @@ public class NpcsHandler {
      * @param itemStack     the item to equip in the specified slot; if null, the slot will be cleared
      */
     public void updateEquipment(String npcName, EquipmentSlot equipmentSlot, @Nullable ItemStack itemStack) {
-        this.jsonDocument = JsonDocument.loadDocument(this.file);
-        SentienceNPC npc = this.npcCache.get(npcName);
-        if (this.jsonDocument == null) return;
+        SentienceNPC npc = this.registry.get(npcName);
         if (npc == null) return;
 
+        String path = "settings.equipment." + equipmentSlot.name().toLowerCase();
         if (itemStack != null) {
             npc.addEquipment(equipmentSlot, itemStack);
 
-            this.jsonDocument.update(npcName + ".settings.equipment." + equipmentSlot.name().toLowerCase(), itemStack.getType().name().toUpperCase());
+            String material = itemStack.getType().name().toUpperCase();
+            this.storage.update(StorageCategory.NPCS, npcName, record -> JsonDocument.update(record, path, material));
         } else {
             npc.removeEquipment(equipmentSlot);
 
-            this.jsonDocument.update(npcName + ".settings.equipment." + equipmentSlot.name().toLowerCase(), Material.AIR.name().toUpperCase());
-        }
-
-        try {
-            this.jsonDocument.save(this.file);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save Npc File", exception);
+            this.storage.update(StorageCategory.NPCS, npcName, record -> JsonDocument.update(record, path, Material.AIR.name().toUpperCase()));
         }
     }
 
     public void updatePermission(String npcName, @Nullable String permission) {
-        this.jsonDocument = JsonDocument.loadDocument(this.file);
-        SentienceNPC npc = this.npcCache.get(npcName);
-        if (this.jsonDocument == null) return;
+        SentienceNPC npc = this.registry.get(npcName);
         if (npc == null) return;
 
         npc.setPermission(permission);
 
-        this.jsonDocument.update(npcName + ".settings.permission", permission == null ? "none" : permission);
-
-        try {
-            this.jsonDocument.save(this.file);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save Npc File", exception);
-        }
+        this.storage.update(StorageCategory.NPCS, npcName, record -> JsonDocument.update(record, "settings.permission", permission == null ? "none" : permission));
     }
 
     /**
@@ -567,23 +601,15 @@ public class NpcsHandler {
      * @return A String indicating the result of the update:
      *         - "true" if the "look at player" behavior is enabled after the update.
      *         - "false" if the "look at player" behavior is disabled after the update.
-     *         - "error" if the NPC or JSON document does not exist, or if an IOException occurs during save.
+     *         - "error" if the NPC does not exist.
      */
     public String updateLookAtPlayer(String npcName) {
-        this.jsonDocument = JsonDocument.loadDocument(this.file);
-        SentienceNPC npc = this.npcCache.get(npcName);
+        SentienceNPC npc = this.registry.get(npcName);
         if (npc == null) return "error";
-        if (jsonDocument == null) return "error";
 
         boolean newValue = !npc.isShouldLookAtPlayer();
         npc.setShouldLookAtPlayer(newValue);
-        this.jsonDocument.update(npcName + ".settings.shouldLookAtPlayer", newValue);
-        try {
-            this.jsonDocument.save(this.file);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save Npc File", exception);
-            return "error";
-        }
+        this.storage.update(StorageCategory.NPCS, npcName, record -> JsonDocument.update(record, "settings.shouldLookAtPlayer", newValue));
 
         if (newValue) {
             return "true";
@@ -601,23 +627,15 @@ public class NpcsHandler {
      * @return A String indicating the result of the update:
      *         - "true" if the "sneak with player" behavior is enabled after the update.
      *         - "false" if the "sneak with player" behavior is disabled after the update.
-     *         - "error" if the NPC or JSON document does not exist, or if an IOException occurs during save.
+     *         - "error" if the NPC does not exist.
      */
     public String updateSneakWithPlayer(String npcName) {
-        this.jsonDocument = JsonDocument.loadDocument(this.file);
-        SentienceNPC npc = this.npcCache.get(npcName);
+        SentienceNPC npc = this.registry.get(npcName);
         if (npc == null) return "error";
-        if (jsonDocument == null) return "error";
 
         boolean newValue = !npc.isShouldSneakWithPlayer();
         npc.setShouldSneakWithPlayer(newValue);
-        this.jsonDocument.update(npcName + ".settings.shouldSneakWithPlayer", newValue);
-        try {
-            this.jsonDocument.save(this.file);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save Npc File", exception);
-            return "error";
-        }
+        this.storage.update(StorageCategory.NPCS, npcName, record -> JsonDocument.update(record, "settings.shouldSneakWithPlayer", newValue));
 
         if (newValue) {
             return "true";
@@ -633,7 +651,7 @@ public class NpcsHandler {
      * @param player the player near whom the NPC will be spawned
      */
     public void spawnNPC(String npcName, Player player) {
-        SentienceNPC npc = this.npcCache.get(npcName);
+        SentienceNPC npc = this.registry.get(npcName);
         if (npc == null) return;
 
         npc.spawn(player);
@@ -648,9 +666,9 @@ public class NpcsHandler {
     public void spawnAllNPCs(Player player) {
         if (player == null || !player.isOnline()) return;
 
-        this.npcCache.values().stream()
-                .filter(Objects::nonNull)
-                .forEach(npc -> npc.spawn(player));
+        for (SentienceNPC npc : this.registry.all()) {
+            npc.spawn(player);
+        }
     }
 
     /**
@@ -663,39 +681,77 @@ public class NpcsHandler {
     public void despawnAllNPCs(Player player) {
         if (player == null || !player.isOnline()) return;
 
-        this.npcCache.values().stream()
-                .filter(Objects::nonNull)
-                .forEach(npc -> npc.despawn(player));
+        for (SentienceNPC npc : this.registry.all()) {
+            npc.despawn(player);
+        }
     }
 
     public void despawnAll() {
-        this.npcCache.values().forEach(SentienceNPC::despawnAll);
-        this.npcCache.clear();
-        this.npcIds.clear();
-        this.npcIdCache.clear();
+        this.registry.all().forEach(SentienceNPC::despawnAll);
+        this.registry.clear();
+        this.spatialIndex.clear();
     }
 
-    private void saveNPCtoFile(SentienceNPC npc) {
-        try {
-            this.jsonDocument = JsonDocument.loadDocument(this.file);
+    /**
+     * Re-indexes the specified NPC after its location has changed. This is called by
+     * {@link SentienceNPC#setLocation(Location)}, so NPCs moved directly through the API
+     * stay in the right cell of the spatial index and in the right per-world list.
+     * NPCs that are not registered (yet) are ignored.
+     *
+     * @param npc the {@link SentienceNPC} whose location has changed
+     * @param previous the previous location of the NPC, or {@code null} if it had none
+     */
+    void onLocationChanged(SentienceNPC npc, @Nullable Location previous) {
+        if (this.registry.get(npc.getName()) != npc) return;
 
-            if (this.jsonDocument == null) {
-                this.jsonDocument = new JsonDocument();
-            }
+        this.spatialIndex.update(npc);
 
-            JsonObject existingData = this.jsonDocument.getJsonObject();
-            if (existingData == null) {
-                existingData = new JsonObject();
-            }
+        Location location = npc.getLocation();
+        World previousWorld = previous == null ? null : previous.getWorld();
+        World world = location == null ? null : location.getWorld();
+        if (previousWorld != world) {
+            this.registry.refresh();
+        }
+    }
+
+    /**
+     * Lets the registry rebuild its look and sneak lists after a setting of the specified NPC
+     * has changed. This is called by the setters of {@link SentienceNPC}, so settings changed
+     * directly through the API take effect as well. NPCs that are not registered are ignored.
+     *
+     * @param npc the {@link SentienceNPC} whose settings have changed
+     */
+    void onSettingsChanged(SentienceNPC npc) {
+        if (this.registry.get(npc.getName()) != npc) return;
 
-            JsonObject npcObject = this.getJsonObject(npc);
-            existingData.add(npc.getName(), npcObject);
+        this.registry.refresh();
+    }
 
-            this.jsonDocument.setJsonObject(existingData);
-            this.jsonDocument.save(this.file);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save Npc File", exception);
-        }
+    /**
+     * Registers the specified NPC in the registry and in the spatial index.
+     *
+     * @param npc the {@link SentienceNPC} to register
+     */
+    private void registerNPC(SentienceNPC npc) {
+        this.registry.register(npc);
+        this.spatialIndex.add(npc);
+    }
+
+    /**
+     * Spawns the specified NPC for all players within the view distance of the
+     * {@link NpcTracker} and despawns it for players that are out of range.
+     *
+     * @param npc the {@link SentienceNPC} to show
+     */
+    private void showToNearbyPlayers(SentienceNPC npc) {
+        NpcTracker tracker = SentienceEntity.getInstance().getNpcTracker();
+        if (tracker == null) return;
+
+        tracker.updateNpc(npc);
+    }
+
+    private void saveNPCtoFile(SentienceNPC npc) {
+        this.storage.save(StorageCategory.NPCS, npc.getName(), this.getJsonObject(npc));
     }
 
     private @NotNull JsonObject getJsonObject(SentienceNPC npc) {
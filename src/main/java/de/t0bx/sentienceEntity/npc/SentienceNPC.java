@@ -37,7 +37,12 @@ import de.t0bx.sentienceEntity.network.inventory.equipment.EquipmentSlot;
 import de.t0bx.sentienceEntity.network.metadata.MetadataEntry;
 import de.t0bx.sentienceEntity.network.metadata.MetadataType;
 import de.t0bx.sentienceEntity.network.utils.*;
+import de.t0bx.sentienceEntity.network.wrapper.PacketBundle;
+import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
 import de.t0bx.sentienceEntity.network.wrapper.packets.*;
+import de.t0bx.sentienceEntity.npc.tracker.NpcLookEngine;
+import de.t0bx.sentienceEntity.path.SentiencePathHandler;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -78,6 +83,10 @@ public class SentienceNPC {
 
     private String boundedPathName;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private SpawnBundle spawnBundle;
+
     /**
      * Constructs a new instance of SentienceNPC with the specified entity ID and NPC profile.
      *
@@ -95,6 +104,8 @@ public class SentienceNPC {
     /**
      * Spawns the NPC for a specified player by sending necessary packets
      * for adding a player entity, setting entity metadata, and managing team visibility.
+     * The packets are encoded once and cached until the NPC changes, so every further
+     * player only receives duplicates of the already encoded packets with a single flush.
      *
      * @param player the Player for whom the NPC should be spawned.
      *               This player will receive the packets to display the NPC.
@@ -107,7 +118,94 @@ public class SentienceNPC {
         if (this.hasSpawned(packetPlayer)) return;
         if (this.getLocation() == null) return;
 
-        if (!this.getLocation().getWorld().getName().equalsIgnoreCase(player.getWorld().getName())) return;
+        if (!this.getLocation().getWorld().getUID().equals(player.getWorld().getUID())) return;
+
+        if (this.spawnBundle == null) {
+            this.spawnBundle = new SpawnBundle(PacketBundle.delimited(this.createSpawnPackets()));
+        }
+        this.spawnBundle.writeTo(packetPlayer);
+
+        this.channels.add(packetPlayer);
+        this.resyncMovement(packetPlayer);
+    }
+
+    /**
+     * Sets the location of the NPC. The cached spawn packets are invalidated, so players
+     * the NPC is spawned for afterwards see it at the new location. If the NPC is registered,
+     * the {@link NpcsHandler} re-indexes it, so it is found at its new location.
+     *
+     * @param location the new location of the NPC
+     */
+    public void setLocation(Location location) {
+        Location previous = this.location;
+        this.location = location;
+        this.invalidateSpawnBundle();
+
+        NpcsHandler npcsHandler = SentienceEntity.getInstance().getNpcshandler();
+        if (npcsHandler != null) {
+            npcsHandler.onLocationChanged(this, previous);
+        }
+    }
+
+    /**
+     * Sets whether the NPC looks at nearby players. The {@link NpcsHandler} is notified, so
+     * the change is picked up by the lists of looking NPCs.
+     *
+     * @param shouldLookAtPlayer {@code true} if the NPC should look at nearby players
+     */
+    public void setShouldLookAtPlayer(boolean shouldLookAtPlayer) {
+        this.shouldLookAtPlayer = shouldLookAtPlayer;
+        this.notifySettingsChanged();
+    }
+
+    /**
+     * Sets whether the NPC sneaks together with players. The {@link NpcsHandler} is notified,
+     * so the change is picked up by the lists of sneaking NPCs.
+     *
+     * @param shouldSneakWithPlayer {@code true} if the NPC should sneak with players
+     */
+    public void setShouldSneakWithPlayer(boolean shouldSneakWithPlayer) {
+        this.shouldSneakWithPlayer = shouldSneakWithPlayer;
+        this.notifySettingsChanged();
+    }
+
+    private void notifySettingsChanged() {
+        NpcsHandler npcsHandler = SentienceEntity.getInstance().getNpcshandler();
+        if (npcsHandler != null) {
+            npcsHandler.onSettingsChanged(this);
+        }
+    }
+
+    /**
+     * Discards the cached spawn packets of the NPC. They are encoded again the next time
+     * the NPC is spawned for a player. This has to be called whenever something that is
+     * part of the spawn packets, such as the skin, equipment or location, changes.
+     * As most of these changes also rotate the NPC on the client, the angles the look
+     * engine sent are discarded as well.
+     * <p>
+     * This method must be called on the main thread.
+     */
+    public void invalidateSpawnBundle() {
+        NpcLookEngine lookEngine = SentienceEntity.getInstance().getNpcLookEngine();
+        if (lookEngine != null) {
+            lookEngine.resetNpc(this);
+        }
+
+        if (this.spawnBundle == null) return;
+
+        this.spawnBundle.release();
+        this.spawnBundle = null;
+    }
+
+    /**
+     * Creates the packets that spawn the NPC for a player: the player info (for player NPCs),
+     * the entity itself, its metadata, the team hiding the name tag (for player NPCs) and
+     * the equipment.
+     *
+     * @return the spawn packets in sending order
+     */
+    private List<PacketWrapper> createSpawnPackets() {
+        List<PacketWrapper> packets = new ArrayList<>();
 
         if (entityType == EntityType.PLAYER) {
             List<PacketPlayerInfoUpdate.Action> actions = List.of(
@@ -125,7 +223,7 @@ public class SentienceNPC {
 
             var infoUpdatePacket = new PacketPlayerInfoUpdate(actions, entries);
 
-            packetPlayer.sendPacket(infoUpdatePacket);
+            packets.add(infoUpdatePacket);
         }
 
         var addEntityPacket = new PacketSpawnEntity(
@@ -140,7 +238,7 @@ public class SentienceNPC {
                 (short) 0
         );
 
-        packetPlayer.sendPacket(addEntityPacket);
+        packets.add(addEntityPacket);
 
         List<MetadataEntry> metadataEntries = new ArrayList<>();
         metadataEntries.add(new MetadataEntry(4, MetadataType.BOOLEAN, true)); //Is silent
@@ -156,7 +254,7 @@ public class SentienceNPC {
 
         var metadataPacket = new PacketSetEntityMetadata(entityId, metadataEntries);
 
-        packetPlayer.sendPacket(metadataPacket);
+        packets.add(metadataPacket);
 
         if (entityType == EntityType.PLAYER) {
             String name = "hidden_" + entityId;
@@ -170,11 +268,17 @@ public class SentienceNPC {
                     List.of(profile.getName())
             );
 
-            packetPlayer.sendPacket(teamPlayerAddPacket);
+            packets.add(teamPlayerAddPacket);
         }
 
-        this.channels.add(packetPlayer);
-        this.showEquipment(player);
+        if (!this.equipmentData.getEquipment().isEmpty()) {
+            packets.add(new PacketSetEquipment(
+                    entityId,
+                    List.copyOf(equipmentData.getEquipment())
+            ));
+        }
+
+        return packets;
     }
 
     /**
@@ -188,6 +292,7 @@ public class SentienceNPC {
     public void updateRotation(float yaw, float pitch) {
         this.getLocation().setYaw(yaw);
         this.getLocation().setPitch(pitch);
+        this.invalidateSpawnBundle();
 
         var rotationPacket = new PacketUpdateEntityRotation(
                 entityId,
@@ -198,10 +303,7 @@ public class SentienceNPC {
 
         var headRotationPacket = new PacketSetHeadRotation(entityId, yaw);
 
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(rotationPacket);
-            player.sendPacket(headRotationPacket);
-        }
+        SentienceEntity.getInstance().getPacketController().broadcast(this.channels, rotationPacket, headRotationPacket);
     }
 
     /**
@@ -229,28 +331,26 @@ public class SentienceNPC {
 
     public void addEquipment(EquipmentSlot slot, ItemStack item) {
         this.equipmentData.getEquipment().add(new Equipment(slot, item));
+        this.invalidateSpawnBundle();
 
         var equipmentPacket = new PacketSetEquipment(
                 this.entityId,
                 this.getEquipmentData().getEquipment()
         );
 
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(equipmentPacket);
-        }
+        SentienceEntity.getInstance().getPacketController().broadcast(this.channels, equipmentPacket);
     }
 
     public void removeEquipment(EquipmentSlot slot) {
         this.equipmentData.getEquipment().removeIf(e -> e.getSlot().getId() == slot.getId());
+        this.invalidateSpawnBundle();
 
         var equipmentPacket = new PacketSetEquipment(
                 this.entityId,
                 List.of(new Equipment(slot, new ItemStack(Material.AIR)))
         );
 
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(equipmentPacket);
-        }
+        SentienceEntity.getInstance().getPacketController().broadcast(this.channels, equipmentPacket);
     }
 
     public void showEquipment(Player player) {
@@ -324,6 +424,18 @@ public class SentienceNPC {
         this.channels.remove(packetPlayer);
     }
 
+    /**
+     * Removes the specified player from the players the NPC is spawned for, without sending
+     * any packet. This is used when the caller removes the entities of several NPCs for the
+     * player at once, e.g. when the player switches worlds.
+     *
+     * @param packetPlayer the {@link PacketPlayer} to remove
+     * @return {@code true} if the NPC was spawned for the player, {@code false} otherwise
+     */
+    public boolean removeViewer(PacketPlayer packetPlayer) {
+        return this.channels.remove(packetPlayer);
+    }
+
     /**
      * Despawns the NPC for all players it is currently visible to. This method sends a
      * {@link PacketRemoveEntities} packet to each {@link PacketPlayer} representing the players
@@ -332,9 +444,7 @@ public class SentienceNPC {
      */
     public void despawnAll() {
         var removeEntitiesPacket = new PacketRemoveEntities(List.of(this.getEntityId()));
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(removeEntitiesPacket);
-        }
+        SentienceEntity.getInstance().getPacketController().broadcast(this.channels, removeEntitiesPacket);
         this.channels.clear();
     }
 
@@ -356,12 +466,11 @@ public class SentienceNPC {
         );
         var headRotationPacket = new PacketSetHeadRotation(this.getEntityId(), location.getYaw());
 
-        for (PacketPlayer player : this.channels) {
-            player.sendMultiplePackets(
-                    entityTeleportPacket,
-                    headRotationPacket
-            );
-        }
+        SentienceEntity.getInstance().getPacketController().broadcast(
+                this.channels,
+                entityTeleportPacket,
+                headRotationPacket
+        );
     }
 
     /**
@@ -369,6 +478,8 @@ public class SentienceNPC {
      * the necessary packets to all players tracking this NPC. The method involves
      * removing the current entity, updating its texture properties with the new skin,
      * and re-adding the entity with updated properties to the players' client views.
+     * All packets are sent as one delimited bundle, so clients swap the skin in a single
+     * frame without the NPC flickering.
      *
      * @param skinValue the base64-encoded value of the new skin texture to be applied
      *                  to the NPC. This value typically includes a URL to the texture.
@@ -380,17 +491,11 @@ public class SentienceNPC {
             throw new IllegalStateException("Cannot change skin of non-player NPC");
 
         var removePacket = new PacketPlayerInfoRemove(Collections.singletonList(this.getProfile().getUuid()));
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(removePacket);
-        }
-
         var removeEntitiesPacket = new PacketRemoveEntities(List.of(this.getEntityId()));
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(removeEntitiesPacket);
-        }
 
         this.getProfile().getProperties().clear();
         this.getProfile().getProperties().add(new PacketPlayerInfoUpdate.Property("textures", skinValue, skinSignature));
+        this.invalidateSpawnBundle();
 
         List<PacketPlayerInfoUpdate.Action> actions = List.of(
                 PacketPlayerInfoUpdate.Action.ADD_PLAYER
@@ -407,10 +512,6 @@ public class SentienceNPC {
 
         var infoUpdatePacket = new PacketPlayerInfoUpdate(actions, entries);
 
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(infoUpdatePacket);
-        }
-
         var addEntityPacket = new PacketSpawnEntity(
                 entityId,
                 profile.getUuid(),
@@ -423,20 +524,12 @@ public class SentienceNPC {
                 (short) 0
         );
 
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(addEntityPacket);
-        }
-
         List<MetadataEntry> metadataEntries = List.of(
                 new MetadataEntry(17, MetadataType.BYTE, (byte) 127)
         );
 
         var metadataPacket = new PacketSetEntityMetadata(entityId, metadataEntries);
 
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(metadataPacket);
-        }
-
         String name = "hidden_" + entityId;
         var teamPlayerAddPacket = new PacketSetPlayerTeam(
                 name,
@@ -448,8 +541,33 @@ public class SentienceNPC {
                 List.of(profile.getName())
         );
 
-        for (PacketPlayer player : this.channels) {
-            player.sendPacket(teamPlayerAddPacket);
+        var bundle = PacketBundle.delimited(
+                removePacket,
+                removeEntitiesPacket,
+                infoUpdatePacket,
+                addEntityPacket,
+                metadataPacket,
+                teamPlayerAddPacket
+        );
+
+        SentienceEntity.getInstance().getPacketController().broadcast(this.channels, bundle);
+        this.resyncMovement(null);
+    }
+
+    /**
+     * Lets a path the NPC is walking send its next step as a teleport, as the spawn packets
+     * placed the NPC at its home location and relative moves would be applied on top of it.
+     *
+     * @param viewer the viewer the NPC was spawned for, or {@code null} for all viewers
+     */
+    private void resyncMovement(@Nullable PacketPlayer viewer) {
+        SentiencePathHandler pathHandler = SentienceEntity.getInstance().getSentiencePathHandler();
+        if (pathHandler == null) return;
+
+        if (viewer == null) {
+            pathHandler.getPathEngine().invalidateViewers(this.entityId);
+        } else {
+            pathHandler.getPathEngine().invalidateViewer(this.entityId, viewer);
         }
     }
 
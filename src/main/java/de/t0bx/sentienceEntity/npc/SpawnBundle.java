@@ -0,0 +1,93 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.npc;
+
+import de.t0bx.sentienceEntity.network.PacketPlayer;
+import de.t0bx.sentienceEntity.network.wrapper.PacketBundle;
+import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * The pre-encoded packets that spawn an NPC for a player.
+ * <p>
+ * The packets are encoded once and then written to every player as retained duplicates,
+ * so spawning an NPC for many players, for example when a lot of players join at once,
+ * does not encode the same player info (including the signed skin texture), spawn,
+ * metadata, team and equipment packets over and over again. Each packet keeps its own
+ * buffer, as every buffer written to a channel is framed as a separate packet. The
+ * packets are enclosed in bundle delimiters, so the client shows the NPC at once.
+ * <p>
+ * The buffers are kept on the heap outside of Netty's pools, as they live as long as the
+ * NPC does not change. An instance must not be used anymore after {@link #release()}.
+ */
+final class SpawnBundle {
+
+    private static final ByteBufAllocator ALLOCATOR = new UnpooledByteBufAllocator(false);
+
+    private final ByteBuf[] frames;
+
+    /**
+     * Encodes the packets of the given bundle into a new spawn bundle.
+     *
+     * @param bundle the packets in sending order
+     */
+    SpawnBundle(PacketBundle bundle) {
+        PacketWrapper[] packets = bundle.getPackets();
+        this.frames = new ByteBuf[packets.length];
+        for (int i = 0; i < this.frames.length; i++) {
+            this.frames[i] = packets[i].build(ALLOCATOR);
+        }
+    }
+
+    /**
+     * Writes all packets of this bundle to the given player, followed by a single flush.
+     *
+     * @param packetPlayer the player the NPC is spawned for
+     */
+    void writeTo(PacketPlayer packetPlayer) {
+        for (ByteBuf frame : this.frames) {
+            packetPlayer.write(frame.retainedDuplicate());
+        }
+        packetPlayer.commit();
+    }
+
+    /**
+     * Releases the encoded packets. Duplicates that are still queued in a channel keep
+     * their own reference and are not affected.
+     */
+    void release() {
+        for (ByteBuf frame : this.frames) {
+            frame.release();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.npc.tracker;
+
+import de.t0bx.sentienceEntity.SentienceEntity;
+import de.t0bx.sentienceEntity.network.PacketPlayer;
+import de.t0bx.sentienceEntity.network.utils.PacketUtils;
+import de.t0bx.sentienceEntity.network.wrapper.packets.PacketSetHeadRotation;
+import de.t0bx.sentienceEntity.network.wrapper.packets.PacketUpdateEntityRotation;
+import de.t0bx.sentienceEntity.npc.NpcsHandler;
+import de.t0bx.sentienceEntity.npc.SentienceNPC;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+
+/**
+ * Lets NPCs with {@link SentienceNPC#isShouldLookAtPlayer()} enabled look at nearby players.
+ * Instead of reacting to every move event, players that moved are only marked and processed
+ * in batches every few ticks. Only NPCs within the look radius of a player are considered,
+ * and rotation packets are only sent if the protocol angle bytes for that player and NPC
+ * pair actually changed.
+ */
+public class NpcLookEngine {
+
+    private static final double EYE_HEIGHT = 1.62;
+
+    private final NpcsHandler npcsHandler;
+    private final double lookRadius;
+    private final int updateInterval;
+
+    private final Set<UUID> movedPlayers = new HashSet<>();
+    private final Map<UUID, Map<SentienceNPC, LookState>> lookStates = new HashMap<>();
+    private final List<SentienceNPC> nearbyBuffer = new ArrayList<>();
+
+    private BukkitTask task;
+
+    /**
+     * Constructs a new NpcLookEngine.
+     *
+     * @param npcsHandler the handler holding all NPCs and their spatial index
+     * @param lookRadius the horizontal distance in blocks in which NPCs look at a player
+     * @param updateInterval the interval in ticks in which moved players are processed
+     */
+    public NpcLookEngine(NpcsHandler npcsHandler, double lookRadius, int updateInterval) {
+        this.npcsHandler = npcsHandler;
+        this.lookRadius = lookRadius;
+        this.updateInterval = updateInterval;
+    }
+
+    /**
+     * Starts the repeating task that processes all players marked as moved.
+     */
+    public void start() {
+        if (this.task != null) return;
+
+        this.task = Bukkit.getScheduler().runTaskTimer(SentienceEntity.getInstance(), this::tick, this.updateInterval, this.updateInterval);
+    }
+
+    /**
+     * Stops the repeating task and clears all cached angles.
+     */
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.movedPlayers.clear();
+        this.lookStates.clear();
+    }
+
+    /**
+     * Marks the specified player as moved, so the NPCs around the player will be
+     * updated with the next run of the engine.
+     *
+     * @param player the {@link Player} that moved
+     */
+    public void markMoved(Player player) {
+        this.movedPlayers.add(player.getUniqueId());
+    }
+
+    /**
+     * Forgets the last sent angles of the specified NPC for the specified player.
+     * This has to be called whenever the NPC is despawned for the player, as a respawned
+     * NPC starts with its default rotation again.
+     *
+     * @param player the {@link Player} the NPC was despawned for
+     * @param npc the {@link SentienceNPC} that was despawned
+     */
+    public void forget(Player player, SentienceNPC npc) {
+        Map<SentienceNPC, LookState> states = this.lookStates.get(player.getUniqueId());
+        if (states == null) return;
+
+        states.remove(npc);
+    }
+
+    /**
+     * Forgets the specified NPC for all players, e.g. after it has been removed.
+     *
+     * @param npc the {@link SentienceNPC} to forget
+     */
+    public void forgetNpc(SentienceNPC npc) {
+        for (Map<SentienceNPC, LookState> states : this.lookStates.values()) {
+            states.remove(npc);
+        }
+    }
+
+    /**
+     * Forgets the last sent angles of the specified NPC for all players and lets the NPC look
+     * at them again with the next run of the engine. This has to be called whenever something
+     * else rotates the NPC on the client, such as a teleport, a respawn or a walked path, as the
+     * cached angles no longer match what the clients show.
+     *
+     * @param npc the {@link SentienceNPC} that was rotated
+     */
+    public void resetNpc(SentienceNPC npc) {
+        for (Map.Entry<UUID, Map<SentienceNPC, LookState>> entry : this.lookStates.entrySet()) {
+            if (entry.getValue().remove(npc) != null) {
+                this.movedPlayers.add(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Forgets all cached angles of the specified player, e.g. after the player left the server.
+     *
+     * @param player the {@link Player} to forget
+     */
+    public void removePlayer(Player player) {
+        this.movedPlayers.remove(player.getUniqueId());
+        this.lookStates.remove(player.getUniqueId());
+    }
+
+    private void tick() {
+        if (this.movedPlayers.isEmpty()) return;
+
+        for (UUID uuid : this.movedPlayers) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null || !player.isOnline()) continue;
+
+            this.update(player);
+        }
+        this.movedPlayers.clear();
+    }
+
+    /**
+     * Rotates all look-enabled NPCs within the look radius of the specified player
+     * towards the player's eyes.
+     *
+     * @param player the {@link Player} the NPCs should look at
+     */
+    private void update(Player player) {
+        Location eyeLocation = player.getEyeLocation();
+
+        this.nearbyBuffer.clear();
+        this.npcsHandler.getSpatialIndex().getNearby(eyeLocation, this.lookRadius, this.nearbyBuffer);
+        if (this.nearbyBuffer.isEmpty()) return;
+
+        PacketPlayer packetPlayer = SentienceEntity.getInstance().getPacketController().getPlayer(player);
+        Map<SentienceNPC, LookState> states = null;
+
+        for (SentienceNPC npc : this.nearbyBuffer) {
+            if (!npc.isShouldLookAtPlayer()) continue;
+            if (!npc.hasSpawned(packetPlayer)) continue;
+
+            Location npcLocation = npc.getLocation();
+            double dx = eyeLocation.getX() - npcLocation.getX();
+            double dy = eyeLocation.getY() - (npcLocation.getY() + EYE_HEIGHT);
+            double dz = eyeLocation.getZ() - npcLocation.getZ();
+
+            double distanceXZ = Math.sqrt(dx * dx + dz * dz);
+            if (distanceXZ == 0) distanceXZ = 0.001;
+
+            float yaw = (float) Math.toDegrees(Math.atan2(-dx, dz));
+            float pitch = (float) -Math.toDegrees(Math.atan2(dy, distanceXZ));
+
+            yaw %= 360;
+            if (yaw < 0) yaw += 360;
+
+            byte yawAngle = PacketUtils.toAngle(yaw);
+            byte pitchAngle = PacketUtils.toAngle(pitch);
+
+            if (states == null) {
+                states = this.lookStates.computeIfAbsent(player.getUniqueId(), id -> new HashMap<>());
+            }
+
+            LookState state = states.get(npc);
+            if (state == null) {
+                state = new LookState();
+                states.put(npc, state);
+            } else if (state.yaw == yawAngle && state.pitch == pitchAngle) {
+                continue;
+            }
+
+            state.yaw = yawAngle;
+            state.pitch = pitchAngle;
+
+            packetPlayer.sendMultiplePackets(
+                    new PacketUpdateEntityRotation(npc.getEntityId(), yaw, pitch, true),
+                    new PacketSetHeadRotation(npc.getEntityId(), yaw)
+            );
+        }
+        this.nearbyBuffer.clear();
+    }
+
+    private static final class LookState {
+        private byte yaw;
+        private byte pitch;
+    }
+}
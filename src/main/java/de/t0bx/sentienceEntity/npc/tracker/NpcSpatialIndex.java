@@ -0,0 +1,179 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.npc.tracker;
+
+import de.t0bx.sentienceEntity.npc.SentienceNPC;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.*;
+
+/**
+ * A chunk based spatial index for {@link SentienceNPC}s. NPCs are bucketed by the world
+ * they are located in and by the chunk their location falls into, so range queries only
+ * have to look at the chunks around a position instead of every loaded NPC.
+ * <p>
+ * This class is not thread-safe and is expected to be used from the main thread only.
+ */
+public class NpcSpatialIndex {
+
+    private final Map<UUID, Map<Long, List<SentienceNPC>>> worlds = new HashMap<>();
+    private final Map<SentienceNPC, IndexEntry> entries = new HashMap<>();
+
+    /**
+     * Adds the specified NPC to the index based on its current location. If the NPC
+     * is already part of the index, it is moved to the cell of its current location.
+     * NPCs without a location or world are ignored.
+     *
+     * @param npc the {@link SentienceNPC} to add
+     */
+    public void add(SentienceNPC npc) {
+        this.remove(npc);
+
+        Location location = npc.getLocation();
+        if (location == null || location.getWorld() == null) return;
+
+        IndexEntry entry = new IndexEntry(
+                location.getWorld().getUID(),
+                chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4)
+        );
+
+        this.worlds.computeIfAbsent(entry.worldId(), id -> new HashMap<>())
+                .computeIfAbsent(entry.chunkKey(), key -> new ArrayList<>(4))
+                .add(npc);
+        this.entries.put(npc, entry);
+    }
+
+    /**
+     * Re-indexes the specified NPC after its location has changed.
+     *
+     * @param npc the {@link SentienceNPC} whose location has changed
+     */
+    public void update(SentienceNPC npc) {
+        this.add(npc);
+    }
+
+    /**
+     * Removes the specified NPC from the index.
+     *
+     * @param npc the {@link SentienceNPC} to remove
+     */
+    public void remove(SentienceNPC npc) {
+        IndexEntry entry = this.entries.remove(npc);
+        if (entry == null) return;
+
+        Map<Long, List<SentienceNPC>> chunks = this.worlds.get(entry.worldId());
+        if (chunks == null) return;
+
+        List<SentienceNPC> cell = chunks.get(entry.chunkKey());
+        if (cell == null) return;
+
+        cell.remove(npc);
+        if (cell.isEmpty()) {
+            chunks.remove(entry.chunkKey());
+        }
+        if (chunks.isEmpty()) {
+            this.worlds.remove(entry.worldId());
+        }
+    }
+
+    /**
+     * Removes every NPC from the index.
+     */
+    public void clear() {
+        this.worlds.clear();
+        this.entries.clear();
+    }
+
+    /**
+     * Collects all NPCs whose horizontal distance to the given location is within the
+     * specified radius. Only NPCs in the same world as the location are considered.
+     *
+     * @param center the center of the query
+     * @param radius the maximum horizontal distance in blocks
+     * @param result the list the matching NPCs are added to
+     */
+    public void getNearby(Location center, double radius, List<SentienceNPC> result) {
+        World world = center.getWorld();
+        if (world == null) return;
+
+        Map<Long, List<SentienceNPC>> chunks = this.worlds.get(world.getUID());
+        if (chunks == null) return;
+
+        double x = center.getX();
+        double z = center.getZ();
+        double radiusSquared = radius * radius;
+
+        int minChunkX = ((int) Math.floor(x - radius)) >> 4;
+        int maxChunkX = ((int) Math.floor(x + radius)) >> 4;
+        int minChunkZ = ((int) Math.floor(z - radius)) >> 4;
+        int maxChunkZ = ((int) Math.floor(z + radius)) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                List<SentienceNPC> cell = chunks.get(chunkKey(chunkX, chunkZ));
+                if (cell == null) continue;
+
+                for (SentienceNPC npc : cell) {
+                    Location location = npc.getLocation();
+                    double dx = location.getX() - x;
+                    double dz = location.getZ() - z;
+                    if (dx * dx + dz * dz <= radiusSquared) {
+                        result.add(npc);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given NPC is part of the index.
+     *
+     * @param npc the {@link SentienceNPC} to check
+     * @return {@code true} if the NPC is indexed, {@code false} otherwise
+     */
+    public boolean contains(SentienceNPC npc) {
+        return this.entries.containsKey(npc);
+    }
+
+    /**
+     * Packs the given chunk coordinates into a single long key.
+     *
+     * @param chunkX the x coordinate of the chunk
+     * @param chunkZ the z coordinate of the chunk
+     * @return the packed chunk key
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private record IndexEntry(UUID worldId, long chunkKey) {}
+}
@@ -0,0 +1,264 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.npc.tracker;
+
+import de.t0bx.sentienceEntity.SentienceEntity;
+import de.t0bx.sentienceEntity.hologram.HologramManager;
+import de.t0bx.sentienceEntity.hologram.SentienceHologram;
+import de.t0bx.sentienceEntity.network.PacketPlayer;
+import de.t0bx.sentienceEntity.network.wrapper.packets.PacketRemoveEntities;
+import de.t0bx.sentienceEntity.npc.NpcsHandler;
+import de.t0bx.sentienceEntity.npc.SentienceNPC;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+
+/**
+ * Tracks which NPCs are visible to which player, similar to the vanilla entity tracker.
+ * NPCs (and their holograms) are spawned for a player once the player comes within the
+ * configured view distance and despawned again once the player leaves it. The visible
+ * set of every online player is refreshed periodically and whenever an NPC is created or moved.
+ */
+public class NpcTracker {
+
+    private final NpcsHandler npcsHandler;
+    private final HologramManager hologramManager;
+    private final NpcLookEngine lookEngine;
+
+    @Getter
+    private final double viewDistance;
+    private final double viewDistanceSquared;
+    private final int updateInterval;
+
+    private final Map<UUID, Set<SentienceNPC>> trackedNpcs = new HashMap<>();
+    private final List<SentienceNPC> nearbyBuffer = new ArrayList<>();
+
+    private BukkitTask task;
+
+    /**
+     * Constructs a new NpcTracker.
+     *
+     * @param npcsHandler the handler holding all NPCs and their spatial index
+     * @param hologramManager the manager holding the holograms of the NPCs
+     * @param lookEngine the engine that has to be notified when NPCs are spawned or despawned
+     * @param viewDistance the horizontal distance in blocks in which NPCs are visible
+     * @param updateInterval the interval in ticks in which the visible NPCs of every player are refreshed
+     */
+    public NpcTracker(NpcsHandler npcsHandler, HologramManager hologramManager, NpcLookEngine lookEngine, double viewDistance, int updateInterval) {
+        this.npcsHandler = npcsHandler;
+        this.hologramManager = hologramManager;
+        this.lookEngine = lookEngine;
+        this.viewDistance = viewDistance;
+        this.viewDistanceSquared = viewDistance * viewDistance;
+        this.updateInterval = updateInterval;
+    }
+
+    /**
+     * Starts the repeating task that refreshes the visible NPCs of all online players.
+     */
+    public void start() {
+        if (this.task != null) return;
+
+        this.task = Bukkit.getScheduler().runTaskTimer(SentienceEntity.getInstance(), () -> {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                this.updatePlayer(player);
+            }
+        }, this.updateInterval, this.updateInterval);
+    }
+
+    /**
+     * Stops the repeating task and forgets all tracked players.
+     */
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.trackedNpcs.clear();
+    }
+
+    /**
+     * Refreshes the visible NPCs of the specified player. NPCs that left the view distance
+     * of the player (or are in another world) are despawned, NPCs that entered it are spawned.
+     *
+     * @param player the {@link Player} whose visible NPCs should be refreshed
+     */
+    public void updatePlayer(Player player) {
+        if (!player.isOnline()) return;
+
+        PacketPlayer packetPlayer = SentienceEntity.getInstance().getPacketController().getPlayer(player);
+        Location playerLocation = player.getLocation();
+        Set<SentienceNPC> tracked = this.trackedNpcs.computeIfAbsent(player.getUniqueId(), uuid -> new HashSet<>());
+
+        Iterator<SentienceNPC> iterator = tracked.iterator();
+        while (iterator.hasNext()) {
+            SentienceNPC npc = iterator.next();
+            if (this.isInRange(npc, playerLocation)) continue;
+
+            this.hide(npc, player);
+            iterator.remove();
+        }
+
+        this.nearbyBuffer.clear();
+        this.npcsHandler.getSpatialIndex().getNearby(playerLocation, this.viewDistance, this.nearbyBuffer);
+
+        for (SentienceNPC npc : this.nearbyBuffer) {
+            if (npc.hasSpawned(packetPlayer)) {
+                tracked.add(npc);
+                continue;
+            }
+
+            this.show(npc, player);
+            if (npc.hasSpawned(packetPlayer)) {
+                tracked.add(npc);
+            }
+        }
+        this.nearbyBuffer.clear();
+    }
+
+    /**
+     * Handles the specified player switching worlds. All NPCs and holograms the player had
+     * spawned are removed with a single packet, and the NPCs around the player in the new
+     * world are spawned. Only entities the player actually had spawned are removed, and only
+     * the spatial partition of the new world is queried.
+     *
+     * @param player the {@link Player} that switched worlds
+     */
+    public void changeWorld(Player player) {
+        Set<SentienceNPC> tracked = this.trackedNpcs.get(player.getUniqueId());
+        if (tracked != null && !tracked.isEmpty()) {
+            PacketPlayer packetPlayer = SentienceEntity.getInstance().getPacketController().getPlayer(player);
+            List<Integer> removedEntityIds = new ArrayList<>(tracked.size());
+
+            for (SentienceNPC npc : tracked) {
+                if (npc.removeViewer(packetPlayer)) {
+                    removedEntityIds.add(npc.getEntityId());
+                }
+                this.lookEngine.forget(player, npc);
+
+                SentienceHologram hologram = this.hologramManager.getHologram(npc.getName());
+                if (hologram != null) {
+                    hologram.removeViewer(packetPlayer, removedEntityIds);
+                }
+            }
+            tracked.clear();
+
+            if (!removedEntityIds.isEmpty()) {
+                packetPlayer.sendPacket(new PacketRemoveEntities(removedEntityIds));
+            }
+        }
+
+        this.updatePlayer(player);
+    }
+
+    /**
+     * Refreshes the visibility of the specified NPC for all online players. This is used
+     * whenever an NPC is created or moved, so players do not have to wait for the next
+     * periodic refresh.
+     *
+     * @param npc the {@link SentienceNPC} whose visibility should be refreshed
+     */
+    public void updateNpc(SentienceNPC npc) {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Set<SentienceNPC> tracked = this.trackedNpcs.computeIfAbsent(player.getUniqueId(), uuid -> new HashSet<>());
+
+            if (this.isInRange(npc, player.getLocation())) {
+                if (tracked.contains(npc)) continue;
+
+                this.show(npc, player);
+                PacketPlayer packetPlayer = SentienceEntity.getInstance().getPacketController().getPlayer(player);
+                if (npc.hasSpawned(packetPlayer)) {
+                    tracked.add(npc);
+                }
+            } else if (tracked.remove(npc)) {
+                this.hide(npc, player);
+            }
+        }
+    }
+
+    /**
+     * Forgets the specified NPC for all players, e.g. after it has been removed.
+     * No packets are sent; despawning the NPC is up to the caller.
+     *
+     * @param npc the {@link SentienceNPC} to forget
+     */
+    public void forgetNpc(SentienceNPC npc) {
+        for (Set<SentienceNPC> tracked : this.trackedNpcs.values()) {
+            tracked.remove(npc);
+        }
+    }
+
+    /**
+     * Forgets the specified player, e.g. after the player has left the server.
+     * No packets are sent; despawning the NPCs is up to the caller.
+     *
+     * @param player the {@link Player} to forget
+     */
+    public void removePlayer(Player player) {
+        this.trackedNpcs.remove(player.getUniqueId());
+    }
+
+    private boolean isInRange(SentienceNPC npc, Location playerLocation) {
+        Location location = npc.getLocation();
+        if (location == null || location.getWorld() == null || playerLocation.getWorld() == null) return false;
+        if (!location.getWorld().getUID().equals(playerLocation.getWorld().getUID())) return false;
+
+        double dx = location.getX() - playerLocation.getX();
+        double dz = location.getZ() - playerLocation.getZ();
+        return dx * dx + dz * dz <= this.viewDistanceSquared;
+    }
+
+    private void show(SentienceNPC npc, Player player) {
+        npc.spawn(player);
+        if (npc.isShouldLookAtPlayer()) {
+            this.lookEngine.markMoved(player);
+        }
+
+        SentienceHologram hologram = this.hologramManager.getHologram(npc.getName());
+        if (hologram != null) {
+            hologram.spawn(player);
+        }
+    }
+
+    private void hide(SentienceNPC npc, Player player) {
+        npc.despawn(player);
+        this.lookEngine.forget(player, npc);
+
+        SentienceHologram hologram = this.hologramManager.getHologram(npc.getName());
+        if (hologram != null) {
+            hologram.despawn(player);
+        }
+    }
+}
@@ -1,20 +1,19 @@
 package de.t0bx.sentienceEntity.path;
 
 import de.t0bx.sentienceEntity.SentienceEntity;
-import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
-import de.t0bx.sentienceEntity.network.wrapper.packets.PacketSetHeadRotation;
-import de.t0bx.sentienceEntity.network.wrapper.packets.PacketTeleportEntity;
 import de.t0bx.sentienceEntity.npc.SentienceNPC;
-import de.t0bx.sentienceEntity.path.data.Node;
 import de.t0bx.sentienceEntity.path.data.SentiencePath;
 import de.t0bx.sentienceEntity.path.data.SentiencePathType;
 import de.t0bx.sentienceEntity.path.data.SentiencePointPath;
+import de.t0bx.sentienceEntity.path.engine.PathEngine;
+import de.t0bx.sentienceEntity.path.engine.PathRoute;
+import de.t0bx.sentienceEntity.path.finder.PathFinder;
 import de.t0bx.sentienceEntity.path.serializer.PathSerializer;
+import de.t0bx.sentienceEntity.path.snapshot.PathRegion;
+import de.t0bx.sentienceEntity.path.snapshot.PathRegionCapturer;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.block.Block;
-import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.IOException;
 import java.util.*;
@@ -34,203 +33,155 @@ import java.util.logging.Level;
  */
 public record SentiencePathExecutor(int entityId, SentiencePath path) {
 
+    private static final int REGION_PADDING_HORIZONTAL = 16;
+    private static final int REGION_PADDING_VERTICAL = 4;
+    private static final int MAX_PATH_EXPANSIONS = 100_000;
+
     /**
      * Prepares and initializes the execution of a movement path for an entity asynchronously.
      * This method attempts to load a pre-saved path for the entity. If no saved path is found,
-     * it ensures the path is generated and interpolated, then saves the generated path for
-     * future use. Once the path is successfully loaded or generated, it starts the navigation.
+     * the region around the path points is captured on the main thread by the
+     * {@link PathRegionCapturer}, and the path is then generated and interpolated against that
+     * snapshot off the main thread and saved for future use. Once the path is successfully
+     * loaded or generated, it starts the navigation.
      *
-     * Asynchronous processing is used to avoid blocking the main thread while performing
-     * potentially time-consuming operations such as file I/O or path interpolation. Any
-     * exceptions or issues encountered during the path loading or saving process are logged.
+     * The world is never accessed off the main thread: file I/O and path finding run
+     * asynchronously, while the block data they need is read on the main thread in small,
+     * time-budgeted slices. Any exceptions or issues encountered during the path loading or
+     * saving process are logged.
      *
      * If the path is successfully loaded, the NPC's movement is initiated. Otherwise, warnings
-     * are logged to indicate that no valid path was found.
+     * are logged to indicate that no valid path was found and the entity is released, so the
+     * path can be applied again.
      */
     public void preparePath() {
         CompletableFuture
                 .supplyAsync(() -> {
                     try {
-                        List<Location> locationsPath = PathSerializer.loadPath(path.getName());
-                        if (locationsPath == null) {
-                            locationsPath = ensurePathLoaded(path);
-
-                            if (locationsPath != null) {
-                                PathSerializer.savePath(path.getName(), locationsPath);
-                            }
-                        }
-                        return locationsPath;
+                        return PathSerializer.loadPath(path.getName());
                     } catch (IOException exception) {
-                        SentienceEntity.getInstance().getLogger().log(Level.WARNING, "Error loading/saving path " + path.getName(), exception);
+                        SentienceEntity.getInstance().getLogger().log(Level.WARNING, "Error loading path " + path.getName(), exception);
                         return null;
                     }
                 })
+                .thenCompose(locationsPath -> {
+                    if (locationsPath != null) return CompletableFuture.completedFuture(locationsPath);
+
+                    return captureRegion(path).thenApplyAsync(region -> {
+                        List<Location> computedPath = ensurePathLoaded(path, region);
+                        if (computedPath == null) return null;
+
+                        try {
+                            PathSerializer.savePath(path.getName(), computedPath);
+                        } catch (IOException exception) {
+                            SentienceEntity.getInstance().getLogger().log(Level.WARNING, "Error saving path " + path.getName(), exception);
+                        }
+                        return computedPath;
+                    });
+                })
                 .thenAccept(locationsPath -> {
                     if (locationsPath != null) {
                         startPath(locationsPath, path.getType() == SentiencePathType.LOOP);
                     } else {
                         SentienceEntity.getInstance().getLogger().warning("Loaded path was null for " + path.getName());
+                        SentienceEntity.getInstance().getSentiencePathHandler().finishPath(entityId, this);
                     }
                 })
                 .exceptionally(ex -> {
                     SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to load path asynchronously: " + path.getName(), ex);
+                    SentienceEntity.getInstance().getSentiencePathHandler().finishPath(entityId, this);
                     return null;
                 });
     }
 
     /**
-     * Starts the execution of a movement path for an NPC by iterating through a given sequence of locations.
-     * The NPC moves from one location to the next, with each step involving orientation adjustments (yaw and pitch)
-     * to simulate natural movement. This process is managed by a repeating task.
+     * Compiles the given locations into a {@link PathRoute} and hands it to the shared
+     * {@link PathEngine}, which moves the NPC from then on. The hand-over happens on the
+     * main thread. If the NPC no longer exists or the path was stopped while it was being
+     * prepared, the route is discarded.
      *
      * @param paths a list of {@code Location} objects representing the waypoints the NPC should traverse
+     * @param loop whether the NPC walks back to the first waypoint after reaching the last one
      */
     private void startPath(List<Location> paths, boolean loop) {
-        String npcName = SentienceEntity.getInstance().getNpcshandler().getNpcNameFromId(entityId);
-        SentienceNPC npc = SentienceEntity.getInstance().getNpcshandler().getNPC(npcName);
-
-        new BukkitRunnable() {
-            int index = 0;
-
-            @Override
-            public void run() {
-                if (!loop && index >= paths.size() - 1) {
-                    cancel();
-                    for (var players : npc.getChannels()) {
-                        players.sendMultiplePackets(
-                                sendMovementPacket(npc, npc.getLocation(), npc.getLocation().getYaw(), npc.getLocation().getPitch()),
-                                sendHeadRotationPacket(npc, npc.getLocation().getYaw())
-                        );
-                    }
-                    return;
-                }
-
-                Location current = paths.get(index);
-                Location next = (index + 1 < paths.size()) ? paths.get(index + 1) : (loop ? paths.get(0) : null);
-                if (next == null) {
-                    cancel();
-                    return;
-                }
-
-                float yaw = calculateYaw(current, next);
-                float pitch = calculatePitch(current, next);
+        SentiencePathHandler pathHandler = SentienceEntity.getInstance().getSentiencePathHandler();
+        if (paths.size() < 2) {
+            SentienceEntity.getInstance().getLogger().warning("Path " + path.getName() + " has less than two points and cannot be walked!");
+            pathHandler.finishPath(entityId, this);
+            return;
+        }
 
-                if (next.getY() > current.getY()) {
-                    Location jumpLoc = next.clone();
-                    jumpLoc.setY(jumpLoc.getY() + 0.2);
-                    jumpLoc.setYaw(yaw);
-                    jumpLoc.setPitch(pitch);
+        PathRoute route = PathRoute.compile(paths, loop);
 
-                    for (var players : npc.getChannels()) {
-                        players.sendMultiplePackets(
-                                sendMovementPacket(npc, jumpLoc, yaw, pitch),
-                                sendHeadRotationPacket(npc, yaw)
-                        );
-                    }
+        Bukkit.getScheduler().runTask(SentienceEntity.getInstance(), () -> {
+            if (!pathHandler.isPreparing(entityId, this)) return;
 
-                    index++;
-                    if (loop) {
-                        index = index % paths.size();
-                    }
-                    return;
-                }
-
-                for (var players : npc.getChannels()) {
-                    players.sendMultiplePackets(
-                            sendMovementPacket(npc, next, yaw, pitch),
-                            sendHeadRotationPacket(npc, yaw)
-                    );
-                }
-                index++;
-                if (loop) {
-                    index = index % paths.size();
-                }
+            SentienceNPC npc = SentienceEntity.getInstance().getNpcshandler().getNPC(entityId);
+            if (npc == null || !pathHandler.getPathEngine().start(npc, path.getName(), route, path.getSpeed())) {
+                pathHandler.finishPath(entityId, this);
             }
-        }.runTaskTimer(SentienceEntity.getInstance(), 0L, 2L);
-    }
-
-    /**
-     * Sends a movement packet to update the position and orientation of the specified NPC
-     * to the given location and directions (yaw and pitch). This ensures the NPC's movement
-     * and rotation are synchronized with the client.
-     *
-     * @param npc      the {@code SentienceNPC} whose movement is being updated
-     * @param location the {@code Location} representing the new position of the NPC
-     * @param yaw      the yaw angle (horizontal rotation) of the NPC
-     * @param pitch    the pitch angle (vertical rotation) of the NPC
-     */
-    private PacketWrapper sendMovementPacket(SentienceNPC npc, Location location, float yaw, float pitch) {
-        location.setYaw(yaw);
-        location.setPitch(pitch);
-        return new PacketTeleportEntity(npc.getEntityId(), location, 0, 0, 0, true);
-    }
-
-    /**
-     * Sends a packet to update the head rotation of the specified NPC to a given yaw angle.
-     * This method creates a head rotation packet and broadcasts it to all players
-     * currently connected to the NPC's channels.
-     *
-     * @param npc the {@code SentienceNPC} whose head rotation is being updated
-     * @param yaw the yaw angle (horizontal rotation) to set for the NPC's head
-     */
-    private PacketWrapper sendHeadRotationPacket(SentienceNPC npc, float yaw) {
-        return new PacketSetHeadRotation(npc.getEntityId(), yaw);
-    }
-
-    /**
-     * Calculates the yaw angle between two locations in a 2D plane.
-     * The yaw is the angle of rotation around the Y-axis and represents
-     * the horizontal direction of movement from the starting location
-     * to the target location.
-     *
-     * @param from the starting location
-     * @param to   the target location
-     * @return the yaw angle in degrees, measured clockwise from the positive Z-axis,
-     * in the range of [0, 360).
-     */
-    private float calculateYaw(Location from, Location to) {
-        double dx = to.getX() - from.getX();
-        double dz = to.getZ() - from.getZ();
-
-        float yaw = (float) Math.toDegrees(Math.atan2(-dx, dz));
-        return yaw < 0 ? yaw + 360 : yaw;
+        });
     }
 
     /**
-     * Calculates the pitch angle between two locations in 3D space.
-     * The pitch is the angle of rotation around the X-axis and represents
-     * the upward or downward direction of the movement between the two locations.
+     * Requests a capture of the region that contains all points of the given path, padded
+     * so the path finder has room to walk around obstacles. Only points in the world of the
+     * first point are considered, as walking segments cannot cross worlds.
      *
-     * @param from the starting location
-     * @param to   the target location
-     * @return the pitch angle in degrees, negative for downward direction and positive for upward direction
+     * @param path the {@code SentiencePath} whose region should be captured
+     * @return a future completed with the captured {@code PathRegion}
      */
-    private float calculatePitch(Location from, Location to) {
-        double dx = to.getX() - from.getX();
-        double dy = to.getY() - from.getY();
-        double dz = to.getZ() - from.getZ();
-
-        double horizontalDistance = Math.sqrt(dx * dx + dz * dz);
-        double pitch = -Math.toDegrees(Math.atan2(dy, horizontalDistance));
+    private CompletableFuture<PathRegion> captureRegion(SentiencePath path) {
+        World world = null;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+
+        for (SentiencePointPath point : path.getPaths().values()) {
+            Location location = point.getLocation();
+            if (location.getWorld() == null) continue;
+            if (world == null) world = location.getWorld();
+            if (!world.equals(location.getWorld())) continue;
+
+            minX = Math.min(minX, location.getBlockX());
+            minY = Math.min(minY, location.getBlockY());
+            minZ = Math.min(minZ, location.getBlockZ());
+            maxX = Math.max(maxX, location.getBlockX());
+            maxY = Math.max(maxY, location.getBlockY());
+            maxZ = Math.max(maxZ, location.getBlockZ());
+        }
 
-        return (float) (pitch * 0.5);
+        if (world == null)
+            return CompletableFuture.failedFuture(new IllegalStateException("Path " + path.getName() + " has no points in a loaded world!"));
+
+        return SentienceEntity.getInstance().getSentiencePathHandler().getRegionCapturer().capture(
+                world,
+                minX - REGION_PADDING_HORIZONTAL,
+                Math.max(world.getMinHeight(), minY - REGION_PADDING_VERTICAL),
+                minZ - REGION_PADDING_HORIZONTAL,
+                maxX + REGION_PADDING_HORIZONTAL,
+                Math.min(world.getMaxHeight() - 1, maxY + REGION_PADDING_VERTICAL),
+                maxZ + REGION_PADDING_HORIZONTAL
+        );
     }
 
     /**
      * Ensures that all segments of the given {@code SentiencePath} are loaded and fully interpolated.
      * This method reconstructs the path by interpolating points between adjacent locations in the path,
-     * ensuring a smooth traversal for the entity.
+     * ensuring a smooth traversal for the entity. All block checks are done against the given region,
+     * so this method is safe to call off the main thread.
      *
-     * @param path the {@code SentiencePath} object containing the sequence of points to be processed
+     * @param path   the {@code SentiencePath} object containing the sequence of points to be processed
+     * @param region the captured {@code PathRegion} containing all points of the path
      * @return a list of {@code Location} objects representing the fully loaded and interpolated path
      */
-    public List<Location> ensurePathLoaded(SentiencePath path) {
+    public List<Location> ensurePathLoaded(SentiencePath path, PathRegion region) {
         Map<Integer, SentiencePointPath> paths = path.getPaths();
 
         List<Integer> sortedKeys = new ArrayList<>(paths.keySet());
         Collections.sort(sortedKeys);
 
         List<Location> allPoints = new ArrayList<>();
+        PathFinder pathFinder = new PathFinder(region, MAX_PATH_EXPANSIONS);
 
         for (int i = 0; i < sortedKeys.size() - 1; i++) {
             int fromIndex = sortedKeys.get(i);
@@ -240,10 +191,8 @@ public record SentiencePathExecutor(int entityId, SentiencePath path) {
             SentiencePointPath toPath = paths.get(toIndex);
 
             Location loc = toPath.getLocation();
-            World world = loc.getWorld();
-            Block below = world.getBlockAt(loc.getBlockX(), loc.getBlockY() - 1, loc.getBlockZ());
 
-            if (!toPath.isTeleport() && below.isPassable()) {
+            if (!toPath.isTeleport() && region.isPassable(loc.getBlockX(), loc.getBlockY() - 1, loc.getBlockZ())) {
                 SentienceEntity.getInstance().getLogger().severe(
                         "Error while trying to calculate Path '" + path.getName() + "'  on index " + toIndex + " (" + loc.getX() + ", " + loc.getY() + ", " + loc.getZ() +
                                 ") is not reachable with walking! " +
@@ -266,10 +215,11 @@ public record SentiencePathExecutor(int entityId, SentiencePath path) {
                 continue;
             }
 
-            List<Location> segmentPoints = findSimplePath(
+            List<Location> segmentPoints = findSegment(
+                    pathFinder,
                     fromPath.getLocation(),
                     toPath.getLocation(),
-                    fromPath.getLocation().getWorld()
+                    path.getName()
             );
 
             List<Location> interpolatedSegment = new ArrayList<>();
@@ -300,10 +250,11 @@ public record SentiencePathExecutor(int entityId, SentiencePath path) {
             SentiencePointPath lastPath = paths.get(lastIndex);
             SentiencePointPath firstPath = paths.get(firstIndex);
 
-            List<Location> loopSegment = findSimplePath(
+            List<Location> loopSegment = findSegment(
+                    pathFinder,
                     lastPath.getLocation(),
                     firstPath.getLocation(),
-                    lastPath.getLocation().getWorld()
+                    path.getName()
             );
 
             List<Location> interpolatedLoop = new ArrayList<>();
@@ -372,119 +323,24 @@ public record SentiencePathExecutor(int entityId, SentiencePath path) {
         return result;
     }
 
-    public List<Location> findSimplePath(Location start, Location goal, World world) {
-        Set<Node> visited = new HashSet<>();
-        Node startNode = new Node(start.getBlockX(), start.getBlockY(), start.getBlockZ());
-        Node goalNode = new Node(goal.getBlockX(), goal.getBlockY(), goal.getBlockZ());
-
-        PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparingDouble(n -> n.distanceTo(goalNode)));
-
-        queue.add(startNode);
-
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
-
-            if (current.equals(goalNode)) {
-                return reconstructPath(current, world);
-            }
-
-            if (visited.contains(current)) continue;
-            visited.add(current);
-
-            for (Node neighbor : generateNeighbors(current, world)) {
-                if (!visited.contains(neighbor)) {
-                    neighbor.parent = current;
-                    queue.add(neighbor);
-                }
-            }
-        }
-
-        return Collections.emptyList();
-    }
-
-
-
     /**
-     * Reconstructs the path from an end node by tracing its parent nodes
-     * back to the start and converting each node to a location within the given world.
+     * Searches the walkable route between two points of a path. If no route is found, a
+     * warning is logged and an empty list is returned, so the segment is skipped.
      *
-     * @param end   the end node of the path to be reconstructed
-     * @param world the world in which the path is located
-     * @return a list of locations representing the reconstructed path from start to end
+     * @param pathFinder the {@code PathFinder} searching the captured region
+     * @param start      the location to start from
+     * @param goal       the location to walk to
+     * @param pathName   the name of the path, used for the warning
+     * @return the block centers of the route, or an empty list if there is none
      */
-    private List<Location> reconstructPath(Node end, World world) {
-        List<Location> path = new ArrayList<>();
-        Node current = end;
-        while (current != null) {
-            path.add(new Location(world, current.x + 0.5, current.y, current.z + 0.5));
-            current = current.parent;
-        }
-        Collections.reverse(path);
-        return path;
-    }
-
-    /**
-     * Generates a list of neighboring nodes that are traversable from the current node
-     * in the given world. This method considers all possible directions, including diagonals,
-     * and ensures that the entity's movement follows traversal rules determined by the position constraints.
-     *
-     * @param current the current node from which neighbors are to be generated
-     * @param world   the world in which the traversal is occurring
-     * @return a list of neighboring nodes that can be traversed to from the current node
-     */
-    private List<Node> generateNeighbors(Node current, World world) {
-        List<Node> neighbors = new ArrayList<>();
-
-        int[][] directions = {
-                {1, 0},
-                {-1, 0},
-                {0, 1},
-                {0, -1},
-                {1, 1},
-                {1, -1},
-                {-1, 1},
-                {-1, -1}
-        };
-
-        for (int[] dir : directions) {
-            int dx = dir[0];
-            int dz = dir[1];
-
-            if (Math.abs(dx) == 1 && Math.abs(dz) == 1) {
-                if (!canStandAt(world, current.x + dx, current.y, current.z) ||
-                        !canStandAt(world, current.x, current.y, current.z + dz)) {
-                    continue;
-                }
-            }
-
-            if (canStandAt(world, current.x + dx, current.y, current.z + dz)) {
-                neighbors.add(new Node(current.x + dx, current.y, current.z + dz));
-            } else if (canStandAt(world, current.x + dx, current.y + 1, current.z + dz)) {
-                neighbors.add(new Node(current.x + dx, current.y + 1, current.z + dz));
-            } else if (canStandAt(world, current.x + dx, current.y - 1, current.z + dz)) {
-                neighbors.add(new Node(current.x + dx, current.y - 1, current.z + dz));
-            }
+    private List<Location> findSegment(PathFinder pathFinder, Location start, Location goal, String pathName) {
+        List<Location> segment = pathFinder.findPath(start, goal, start.getWorld());
+        if (segment.isEmpty()) {
+            SentienceEntity.getInstance().getLogger().warning(
+                    "Could not find a walkable route for path '" + pathName + "' from (" + start.getBlockX() + ", " + start.getBlockY() + ", " + start.getBlockZ() +
+                            ") to (" + goal.getBlockX() + ", " + goal.getBlockY() + ", " + goal.getBlockZ() + ")!"
+            );
         }
-
-        return neighbors;
-    }
-
-    /**
-     * Determines if an entity can stand at a specified location in the given world.
-     * It checks whether the block at the specified position for the entity's feet and head are passable,
-     * and whether the block below the feet is a solid block.
-     *
-     * @param world the world in which the block positions are checked
-     * @param x     the x-coordinate of the position to check
-     * @param y     the y-coordinate of the position to check
-     * @param z     the z-coordinate of the position to check
-     * @return true if the entity can stand at the specified location; false otherwise
-     */
-    private boolean canStandAt(World world, int x, int y, int z) {
-        Block feet = world.getBlockAt(x, y, z);
-        Block head = world.getBlockAt(x, y + 1, z);
-        Block ground = world.getBlockAt(x, y - 1, z);
-
-        return feet.isPassable() && head.isPassable() && ground.getType().isSolid();
+        return segment;
     }
 }
\ No newline at end of file
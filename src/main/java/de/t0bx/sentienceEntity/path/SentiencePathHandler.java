@@ -5,31 +5,46 @@ import de.t0bx.sentienceEntity.SentienceEntity;
 import de.t0bx.sentienceEntity.path.data.SentiencePath;
 import de.t0bx.sentienceEntity.path.data.SentiencePathType;
 import de.t0bx.sentienceEntity.path.data.SentiencePointPath;
-import de.t0bx.sentienceEntity.utils.JsonDocument;
+import de.t0bx.sentienceEntity.path.engine.PathEngine;
+import de.t0bx.sentienceEntity.path.snapshot.PathRegionCapturer;
+import de.t0bx.sentienceEntity.storage.StorageBackend;
+import de.t0bx.sentienceEntity.storage.StorageCategory;
+import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Level;
 
-@SuppressWarnings({"ResultOfMethodCallIgnored", "CallToPrintStackTrace"})
+@SuppressWarnings("CallToPrintStackTrace")
 public class SentiencePathHandler {
 
+    private static final long REGION_CAPTURE_BUDGET_NANOS = 2_000_000L;
+    public static final double MAX_SPEED = 10.0;
+
     private final Map<String, SentiencePath> cachedPaths;
     private final Map<Integer, SentiencePathExecutor> inPath;
-    private JsonDocument jsonDocument;
+    private final StorageBackend storage;
+    @Getter
+    private final PathRegionCapturer regionCapturer;
+    @Getter
+    private final PathEngine pathEngine;
 
     public SentiencePathHandler() {
         this.cachedPaths = new ConcurrentHashMap<>();
         this.inPath = new ConcurrentHashMap<>();
+        this.storage = SentienceEntity.getInstance().getStorageBackend();
+        this.regionCapturer = new PathRegionCapturer(
+                SentienceEntity.getInstance(),
+                SentienceEntity.getInstance().isPaper(),
+                REGION_CAPTURE_BUDGET_NANOS
+        );
+        this.pathEngine = new PathEngine(SentienceEntity.getInstance(), entityId -> this.inPath.remove(entityId));
         this.loadPathsFromFile();
     }
 
@@ -39,6 +54,8 @@ public class SentiencePathHandler {
      * This method retrieves a `SentiencePath` object associated with the given
      * path name from the cache. If the path exists, it initializes a
      * `SentiencePathExecutor` for the specified entity and calls its preparation logic.
+     * An entity can only walk one path at a time; once a path that is not a loop has been
+     * walked to its end, the entity is released and the path can be applied again.
      *
      * @param entityId The unique identifier of the entity to which the path will be applied.
      * @param pathName The name of the sentience path to be applied.
@@ -49,8 +66,97 @@ public class SentiencePathHandler {
         if (this.inPath.containsKey(entityId)) return;
 
         SentiencePathExecutor executor = new SentiencePathExecutor(entityId, path);
-        executor.preparePath();
         this.inPath.put(entityId, executor);
+        executor.preparePath();
+    }
+
+    /**
+     * Stops the path the specified entity is currently walking or being prepared for.
+     * The entity stays at its current position and is released, so another path can be applied.
+     *
+     * @param entityId The unique identifier of the entity whose path should be stopped.
+     * @return {@code true} if the entity was walking or being prepared for a path, {@code false} otherwise.
+     */
+    public boolean stopPath(int entityId) {
+        this.pathEngine.stop(entityId);
+        return this.inPath.remove(entityId) != null;
+    }
+
+    /**
+     * Pauses the path the specified entity is currently walking. The entity keeps its
+     * position on the path and continues from there once it is resumed.
+     *
+     * @param entityId The unique identifier of the entity whose path should be paused.
+     * @return {@code true} if the entity was walking and is now paused, {@code false} otherwise.
+     */
+    public boolean pausePath(int entityId) {
+        return this.pathEngine.pause(entityId);
+    }
+
+    /**
+     * Resumes the paused path of the specified entity.
+     *
+     * @param entityId The unique identifier of the entity whose path should be resumed.
+     * @return {@code true} if the entity was paused and is now walking again, {@code false} otherwise.
+     */
+    public boolean resumePath(int entityId) {
+        return this.pathEngine.resume(entityId);
+    }
+
+    /**
+     * Updates the walking speed of a sentience path.
+     *
+     * The speed is a factor of the default walking pace, so {@code 1.0} walks one step every
+     * two ticks and {@code 2.0} walks twice as fast. The new speed is applied to all entities
+     * that are currently walking the path and is persisted in the stored path record.
+     *
+     * @param pathName The name of the sentience path to be updated.
+     *                 Must correspond to an existing path in the cache.
+     * @param speed The new speed factor. Must be greater than 0 and not greater than {@link #MAX_SPEED}.
+     * @throws IllegalArgumentException If the path does not exist or the speed is out of range.
+     */
+    public void updateSpeed(String pathName, double speed) {
+        SentiencePath path = this.cachedPaths.getOrDefault(pathName, null);
+        if (path == null) throw new IllegalArgumentException("Path with name " + pathName + " does not exist!");
+        if (!(speed > 0.0) || speed > MAX_SPEED)
+            throw new IllegalArgumentException("Speed " + speed + " must be greater than 0 and not greater than " + MAX_SPEED + "!");
+
+        path.setSpeed(speed);
+        this.pathEngine.setSpeed(pathName, speed);
+
+        this.storage.update(StorageCategory.PATHS, pathName, pathObject -> pathObject.addProperty("speed", speed));
+    }
+
+    /**
+     * Stops all paths and the background tasks of the path system.
+     */
+    public void shutdown() {
+        this.pathEngine.shutdown();
+        this.regionCapturer.stop();
+        this.inPath.clear();
+    }
+
+    /**
+     * Checks whether the given executor is still the one registered for the entity,
+     * i.e. the path was neither stopped nor replaced while it was being prepared.
+     *
+     * @param entityId The unique identifier of the entity.
+     * @param executor The executor preparing the path.
+     * @return {@code true} if the executor is still registered for the entity.
+     */
+    boolean isPreparing(int entityId, SentiencePathExecutor executor) {
+        return this.inPath.get(entityId) == executor;
+    }
+
+    /**
+     * Releases the entity if the given executor is still registered for it. Called when
+     * preparing a path failed, so the path can be applied again.
+     *
+     * @param entityId The unique identifier of the entity.
+     * @param executor The executor that failed to prepare the path.
+     */
+    void finishPath(int entityId, SentiencePathExecutor executor) {
+        this.inPath.remove(entityId, executor);
     }
 
     /**
@@ -71,48 +177,20 @@ public class SentiencePathHandler {
         SentiencePath path = new SentiencePath(pathName, pathType);
         this.cachedPaths.put(pathName, path);
 
-        File pathFile = new File(SentienceEntity.getInstance().getDataFolder(), "paths/" + pathName + ".json");
-        this.jsonDocument = JsonDocument.loadDocument(pathFile);
-
-        if (this.jsonDocument == null) {
-            this.jsonDocument = new JsonDocument();
-        }
-
-        this.jsonDocument.setString("trigger", pathType.toString());
-
-        try {
-            this.jsonDocument.save(pathFile);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save path: ", exception);
-        }
+        this.storage.update(StorageCategory.PATHS, pathName, pathObject -> pathObject.addProperty("trigger", pathType.toString()));
     }
 
     /**
      * Updates the trigger of a sentience path with the specified path name and type.
      *
-     * This method retrieves the JSON configuration file associated with the given path name.
-     * If the file does not exist, a new JSON document is created. It updates the "trigger"
-     * field in the JSON document to the specified path type and saves the changes back to
-     * the file. In case of an I/O failure during saving, a severe log message is recorded.
+     * This method updates the "trigger" field of the stored path record to the specified
+     * path type. If no record exists for the path yet, a new one is created.
      *
      * @param pathName The name of the sentience path to be updated. Must not be null or empty.
      * @param pathType The {@code SentiencePathType} to set as the new trigger for the path. Must not be null.
      */
     public void updateTrigger(String pathName, SentiencePathType pathType) {
-        File pathFile = new File(SentienceEntity.getInstance().getDataFolder(), "paths/" + pathName + ".json");
-
-        this.jsonDocument = JsonDocument.loadDocument(pathFile);
-        if (this.jsonDocument == null) {
-            this.jsonDocument = new JsonDocument();
-        }
-
-        this.jsonDocument.update("trigger", pathType.toString());
-
-        try {
-            this.jsonDocument.save(pathFile);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().log(Level.SEVERE, "Failed to save path: ", exception);
-        }
+        this.storage.update(StorageCategory.PATHS, pathName, pathObject -> pathObject.addProperty("trigger", pathType.toString()));
     }
 
     /**
@@ -132,8 +210,7 @@ public class SentiencePathHandler {
 
         this.cachedPaths.remove(pathName);
 
-        File pathFile = new File(SentienceEntity.getInstance().getDataFolder(), "paths/" + pathName + ".json");
-        pathFile.delete();
+        this.storage.delete(StorageCategory.PATHS, pathName);
     }
 
     /**
@@ -280,28 +357,19 @@ public class SentiencePathHandler {
     }
     
     private void loadPathsFromFile() {
-        File pathsFolder = new File(SentienceEntity.getInstance().getDataFolder(), "paths/");
-        if (!pathsFolder.exists()) pathsFolder.mkdirs();
-
-        File[] files = pathsFolder.listFiles();
-        if (files == null) return;
-
         this.cachedPaths.clear();
-        for (File file : files) {
-            if (!file.getName().endsWith(".json")) continue;
+        for (Map.Entry<String, JsonObject> entry : this.storage.loadAll(StorageCategory.PATHS).entrySet()) {
+            String pathName = entry.getKey();
+            JsonObject pathObject = entry.getValue();
 
             try {
-                this.jsonDocument = JsonDocument.loadDocument(file);
-                if (this.jsonDocument == null) continue;
-
-                JsonObject pathObject = this.jsonDocument.getJsonObject();
-                if (pathObject == null) continue;
-
-                String pathName = file.getName().substring(0, file.getName().length() - 5);
                 SentiencePathType pathType = SentiencePathType.valueOf(pathObject.get("trigger").getAsString().toUpperCase());
 
                 SentiencePath path = new SentiencePath(pathName, pathType);
                 path.getPaths().clear();
+                if (pathObject.has("speed")) {
+                    path.setSpeed(pathObject.get("speed").getAsDouble());
+                }
 
                 int index = 0;
                 while (pathObject.has("point_" + index)) {
@@ -328,41 +396,23 @@ public class SentiencePathHandler {
 
                 this.cachedPaths.put(pathName, path);
             } catch (Exception exception) {
-                SentienceEntity.getInstance().getLogger().severe("Failed to load path '" + file.getName() + "': " + exception.getMessage());
+                SentienceEntity.getInstance().getLogger().severe("Failed to load path '" + pathName + "': " + exception.getMessage());
                 exception.printStackTrace();
             }
         }
     }
 
     private void savePointToFile(String pathName, SentiencePointPath pointPath) {
-        File tempFile = new File(SentienceEntity.getInstance().getDataFolder(), "paths/" + pathName + ".json");
-        try {
-            this.jsonDocument = JsonDocument.loadDocument(tempFile);
-
-            if (this.jsonDocument == null) {
-                this.jsonDocument = new JsonDocument();
-            }
-
-            JsonObject pathObject = this.jsonDocument.getJsonObject();
-            if (pathObject == null) {
-                pathObject = new JsonObject();
-                this.jsonDocument.setJsonObject(pathObject);
-            }
+        JsonObject pointObject = getJsonObject(pointPath);
 
+        this.storage.update(StorageCategory.PATHS, pathName, pathObject -> {
             int nextIndex = 0;
-            while (this.jsonDocument.getJsonObject().has("point_" + nextIndex)) {
+            while (pathObject.has("point_" + nextIndex)) {
                 nextIndex++;
             }
 
-            JsonObject pointObject = getJsonObject(pointPath);
-
             pathObject.add("point_" + nextIndex, pointObject);
-
-            this.jsonDocument.save(tempFile);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().severe("Failed to save path: " + exception.getMessage());
-            exception.printStackTrace();
-        }
+        });
     }
 
     private @NotNull JsonObject getJsonObject(SentiencePointPath pointPath) {
@@ -379,16 +429,10 @@ public class SentiencePathHandler {
     }
 
     private void removePointFromFile(String pathName, int index) {
-        File tempFile = new File(SentienceEntity.getInstance().getDataFolder(), "paths/" + pathName + ".json");
-        try {
-            this.jsonDocument = JsonDocument.loadDocument(tempFile);
-            if (this.jsonDocument == null) return;
-
-            JsonObject pathObject = this.jsonDocument.getJsonObject();
-            if (pathObject == null) return;
-
-            if (!pathObject.has("point_" + index)) return;
+        JsonObject stored = this.storage.load(StorageCategory.PATHS, pathName);
+        if (stored == null || !stored.has("point_" + index)) return;
 
+        this.storage.update(StorageCategory.PATHS, pathName, pathObject -> {
             pathObject.remove("point_" + index);
 
             int i = index + 1;
@@ -398,11 +442,6 @@ public class SentiencePathHandler {
                 pathObject.add("point_" + (i - 1), pointObject);
                 i++;
             }
-
-            this.jsonDocument.save(tempFile);
-        } catch (IOException exception) {
-            SentienceEntity.getInstance().getLogger().severe("Failed to remove point from path: " + exception.getMessage());
-            exception.printStackTrace();
-        }
+        });
     }
 }
@@ -10,4 +10,5 @@ public class SentiencePath {
     private final String name;
     private final SentiencePathType type;
     private Map<Integer, SentiencePointPath> paths = new HashMap<>();
+    private double speed = 1.0;
 }
@@ -0,0 +1,383 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.path.engine;
+
+import de.t0bx.sentienceEntity.SentienceEntity;
+import de.t0bx.sentienceEntity.network.PacketPlayer;
+import de.t0bx.sentienceEntity.npc.SentienceNPC;
+import de.t0bx.sentienceEntity.npc.tracker.NpcLookEngine;
+import de.t0bx.sentienceEntity.path.movement.MovementEncoder;
+import de.t0bx.sentienceEntity.utils.collection.IntIntHashMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Drives every NPC that is currently walking a path from a single repeating task.
+ * <p>
+ * Instead of one scheduler entry per walking NPC, the engine keeps the state of all
+ * walkers in parallel arrays (struct of arrays) and advances all of them once per tick.
+ * Each walker owns a precompiled {@link PathRoute}, the index of the next step, a
+ * fractional step progress and a speed factor, so different paths can be walked at
+ * different speeds while the task itself always runs every tick. A speed of {@code 1.0}
+ * equals the default walking pace of one step every two ticks.
+ * <p>
+ * Walkers can be paused and resumed without losing their position on the route. When a
+ * route that is not a loop has been walked to its end, the NPC is sent back to its spawn
+ * location, the walker is removed and the finish listener is notified, so the path can be
+ * triggered again. The task is only scheduled while at least one walker exists.
+ * <p>
+ * This class is not thread-safe and must only be used from the main thread.
+ */
+public class PathEngine {
+
+    public static final double STEPS_PER_TICK = 0.5;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MOVEMENT_RESYNC_INTERVAL = 100;
+    private static final int NO_SLOT = -1;
+
+    private final Plugin plugin;
+    private final IntConsumer finishListener;
+    private final IntIntHashMap slotByEntityId = new IntIntHashMap(INITIAL_CAPACITY, NO_SLOT);
+
+    private int size;
+    private int[] entityIds = new int[INITIAL_CAPACITY];
+    private SentienceNPC[] npcs = new SentienceNPC[INITIAL_CAPACITY];
+    private String[] pathNames = new String[INITIAL_CAPACITY];
+    private PathRoute[] routes = new PathRoute[INITIAL_CAPACITY];
+    private MovementEncoder[] encoders = new MovementEncoder[INITIAL_CAPACITY];
+    private int[] stepIndices = new int[INITIAL_CAPACITY];
+    private double[] progress = new double[INITIAL_CAPACITY];
+    private double[] speeds = new double[INITIAL_CAPACITY];
+    private boolean[] paused = new boolean[INITIAL_CAPACITY];
+
+    private BukkitTask task;
+
+    /**
+     * Constructs a new PathEngine.
+     *
+     * @param plugin the plugin used to schedule the engine task
+     * @param finishListener notified with the entity id of every walker that finished its route
+     */
+    public PathEngine(Plugin plugin, IntConsumer finishListener) {
+        this.plugin = plugin;
+        this.finishListener = finishListener;
+    }
+
+    /**
+     * Lets the given NPC walk along the given route.
+     *
+     * @param npc the NPC that should walk
+     * @param pathName the name of the path the route was compiled from
+     * @param route the compiled route
+     * @param speed the speed factor, {@code 1.0} being the default walking pace
+     * @return {@code true} if the walker was added, {@code false} if the NPC is already walking
+     */
+    public boolean start(SentienceNPC npc, String pathName, PathRoute route, double speed) {
+        if (this.slotByEntityId.containsKey(npc.getEntityId())) return false;
+
+        if (this.size == this.entityIds.length) {
+            grow();
+        }
+
+        int slot = this.size++;
+        this.entityIds[slot] = npc.getEntityId();
+        this.npcs[slot] = npc;
+        this.pathNames[slot] = pathName;
+        this.routes[slot] = route;
+        this.encoders[slot] = new MovementEncoder(npc.getEntityId(), MOVEMENT_RESYNC_INTERVAL);
+        this.stepIndices[slot] = 0;
+        this.progress[slot] = 0.0;
+        this.speeds[slot] = speed;
+        this.paused[slot] = false;
+        this.slotByEntityId.put(npc.getEntityId(), slot);
+
+        if (this.task == null) {
+            this.task = Bukkit.getScheduler().runTaskTimer(this.plugin, this::tick, 1L, 1L);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the walker of the given NPC without sending any further movement.
+     * The finish listener is not notified.
+     *
+     * @param entityId the entity id of the NPC
+     * @return {@code true} if the NPC was walking
+     */
+    public boolean stop(int entityId) {
+        int slot = this.slotByEntityId.get(entityId);
+        if (slot == NO_SLOT) return false;
+
+        resetLook(this.npcs[slot]);
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Pauses the walker of the given NPC. The NPC stays where it is until it is resumed.
+     *
+     * @param entityId the entity id of the NPC
+     * @return {@code true} if the NPC is walking and was not paused yet
+     */
+    public boolean pause(int entityId) {
+        int slot = this.slotByEntityId.get(entityId);
+        if (slot == NO_SLOT || this.paused[slot]) return false;
+
+        this.paused[slot] = true;
+        return true;
+    }
+
+    /**
+     * Resumes the paused walker of the given NPC.
+     *
+     * @param entityId the entity id of the NPC
+     * @return {@code true} if the NPC is walking and was paused
+     */
+    public boolean resume(int entityId) {
+        int slot = this.slotByEntityId.get(entityId);
+        if (slot == NO_SLOT || !this.paused[slot]) return false;
+
+        this.paused[slot] = false;
+        return true;
+    }
+
+    /**
+     * Checks whether the given NPC is currently walking a route, paused or not.
+     *
+     * @param entityId the entity id of the NPC
+     * @return {@code true} if the NPC has a walker
+     */
+    public boolean isWalking(int entityId) {
+        return this.slotByEntityId.containsKey(entityId);
+    }
+
+    /**
+     * Checks whether the walker of the given NPC is paused.
+     *
+     * @param entityId the entity id of the NPC
+     * @return {@code true} if the NPC is walking and paused
+     */
+    public boolean isPaused(int entityId) {
+        int slot = this.slotByEntityId.get(entityId);
+        return slot != NO_SLOT && this.paused[slot];
+    }
+
+    /**
+     * Lets the next step of the given NPC be sent as a teleport to the given viewer, as
+     * its client no longer knows the position the relative moves are based on. This has
+     * to be called whenever the NPC is spawned for the viewer again.
+     *
+     * @param entityId the entity id of the NPC
+     * @param viewer the viewer the NPC was spawned for
+     */
+    public void invalidateViewer(int entityId, PacketPlayer viewer) {
+        int slot = this.slotByEntityId.get(entityId);
+        if (slot == NO_SLOT) return;
+
+        this.encoders[slot].invalidate(viewer);
+    }
+
+    /**
+     * Lets the next step of the given NPC be sent as a teleport to all of its viewers,
+     * e.g. after the NPC was spawned again for every viewer.
+     *
+     * @param entityId the entity id of the NPC
+     */
+    public void invalidateViewers(int entityId) {
+        int slot = this.slotByEntityId.get(entityId);
+        if (slot == NO_SLOT) return;
+
+        this.encoders[slot].invalidateAll();
+    }
+
+    /**
+     * Changes the speed of every walker that walks the given path.
+     *
+     * @param pathName the name of the path
+     * @param speed the new speed factor, {@code 1.0} being the default walking pace
+     */
+    public void setSpeed(String pathName, double speed) {
+        for (int slot = 0; slot < this.size; slot++) {
+            if (this.pathNames[slot].equals(pathName)) {
+                this.speeds[slot] = speed;
+            }
+        }
+    }
+
+    /**
+     * Cancels the engine task and removes all walkers without notifying the finish listener.
+     */
+    public void shutdown() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        Arrays.fill(this.npcs, 0, this.size, null);
+        Arrays.fill(this.pathNames, 0, this.size, null);
+        Arrays.fill(this.routes, 0, this.size, null);
+        Arrays.fill(this.encoders, 0, this.size, null);
+        this.slotByEntityId.clear();
+        this.size = 0;
+    }
+
+    private void tick() {
+        int slot = 0;
+        while (slot < this.size) {
+            if (advance(slot)) {
+                slot++;
+                continue;
+            }
+
+            int entityId = this.entityIds[slot];
+            removeSlot(slot);
+            this.finishListener.accept(entityId);
+        }
+
+        if (this.size == 0 && this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    /**
+     * Advances the walker in the given slot by the steps that are due this tick.
+     *
+     * @param slot the slot of the walker
+     * @return {@code false} if the walker finished its route and has to be removed
+     */
+    private boolean advance(int slot) {
+        if (this.paused[slot]) return true;
+
+        PathRoute route = this.routes[slot];
+        SentienceNPC npc = this.npcs[slot];
+        int step = this.stepIndices[slot];
+
+        if (step >= route.getStepCount()) {
+            Location home = npc.getLocation();
+            this.encoders[slot].move(npc.getChannels(), home, home.getYaw(), home.getPitch(), true);
+            resetLook(npc);
+            return false;
+        }
+
+        double current = this.progress[slot] + this.speeds[slot] * STEPS_PER_TICK;
+        int dueSteps = (int) current;
+        this.progress[slot] = current - dueSteps;
+        if (dueSteps == 0) return true;
+
+        int lastStep = step;
+        boolean teleport = false;
+        for (int i = 0; i < dueSteps && step < route.getStepCount(); i++) {
+            lastStep = step;
+            teleport |= route.isTeleport(step);
+
+            step++;
+            if (route.isLoop() && step == route.getStepCount()) {
+                step = 0;
+            }
+        }
+        this.stepIndices[slot] = step;
+
+        this.encoders[slot].move(
+                npc.getChannels(),
+                route.getTarget(lastStep),
+                route.getYaw(lastStep),
+                route.getPitch(lastStep),
+                teleport
+        );
+        forgetLook(npc);
+        return true;
+    }
+
+    /**
+     * Discards the angles the look engine sent for the given NPC, as every step rotates the
+     * NPC on the client. Players are not marked as moved, so the engine does not turn the NPC
+     * away from its walking direction on every run.
+     */
+    private static void forgetLook(SentienceNPC npc) {
+        NpcLookEngine lookEngine = SentienceEntity.getInstance().getNpcLookEngine();
+        if (lookEngine != null) {
+            lookEngine.forgetNpc(npc);
+        }
+    }
+
+    /**
+     * Lets the look engine rotate the given NPC towards nearby players again once it stopped walking.
+     */
+    private static void resetLook(SentienceNPC npc) {
+        NpcLookEngine lookEngine = SentienceEntity.getInstance().getNpcLookEngine();
+        if (lookEngine != null) {
+            lookEngine.resetNpc(npc);
+        }
+    }
+
+    private void removeSlot(int slot) {
+        int last = --this.size;
+        this.slotByEntityId.remove(this.entityIds[slot]);
+
+        if (slot != last) {
+            this.entityIds[slot] = this.entityIds[last];
+            this.npcs[slot] = this.npcs[last];
+            this.pathNames[slot] = this.pathNames[last];
+            this.routes[slot] = this.routes[last];
+            this.encoders[slot] = this.encoders[last];
+            this.stepIndices[slot] = this.stepIndices[last];
+            this.progress[slot] = this.progress[last];
+            this.speeds[slot] = this.speeds[last];
+            this.paused[slot] = this.paused[last];
+            this.slotByEntityId.put(this.entityIds[slot], slot);
+        }
+
+        this.npcs[last] = null;
+        this.pathNames[last] = null;
+        this.routes[last] = null;
+        this.encoders[last] = null;
+    }
+
+    private void grow() {
+        int capacity = this.entityIds.length * 2;
+        this.entityIds = Arrays.copyOf(this.entityIds, capacity);
+        this.npcs = Arrays.copyOf(this.npcs, capacity);
+        this.pathNames = Arrays.copyOf(this.pathNames, capacity);
+        this.routes = Arrays.copyOf(this.routes, capacity);
+        this.encoders = Arrays.copyOf(this.encoders, capacity);
+        this.stepIndices = Arrays.copyOf(this.stepIndices, capacity);
+        this.progress = Arrays.copyOf(this.progress, capacity);
+        this.speeds = Arrays.copyOf(this.speeds, capacity);
+        this.paused = Arrays.copyOf(this.paused, capacity);
+    }
+}
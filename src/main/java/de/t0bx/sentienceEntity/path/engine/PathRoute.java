@@ -0,0 +1,197 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.path.engine;
+
+import lombok.Getter;
+import org.bukkit.Location;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A compiled, immutable route that an NPC walks along.
+ * <p>
+ * The route is built once from the interpolated locations of a path, so the
+ * {@link PathEngine} does not have to compute anything while walking. Step {@code i}
+ * moves the NPC from point {@code i} to the next point, and every step already carries
+ * the location that is sent to the viewers (including the small lift for upward steps),
+ * the yaw and pitch the NPC faces while taking the step and whether the step has to be
+ * sent as a teleport. Loop routes contain one more step, leading from the last point back
+ * to the first one.
+ */
+public final class PathRoute {
+
+    private static final double TELEPORT_STEP_DISTANCE_SQUARED = 2.0 * 2.0;
+    private static final double JUMP_LIFT = 0.2;
+
+    private final Location[] targets;
+    private final float[] yaws;
+    private final float[] pitches;
+    private final boolean[] teleports;
+
+    @Getter
+    private final boolean loop;
+
+    private PathRoute(Location[] targets, float[] yaws, float[] pitches, boolean[] teleports, boolean loop) {
+        this.targets = targets;
+        this.yaws = yaws;
+        this.pitches = pitches;
+        this.teleports = teleports;
+        this.loop = loop;
+    }
+
+    /**
+     * Compiles the given interpolated locations into a route.
+     *
+     * @param points the interpolated locations of the path, in walking order
+     * @param loop whether the route leads from the last point back to the first one
+     * @return the compiled route
+     * @throws IllegalArgumentException if the route has less than two points
+     */
+    public static PathRoute compile(List<Location> points, boolean loop) {
+        if (points.size() < 2)
+            throw new IllegalArgumentException("A route needs at least two points!");
+
+        int stepCount = loop ? points.size() : points.size() - 1;
+        Location[] targets = new Location[stepCount];
+        float[] yaws = new float[stepCount];
+        float[] pitches = new float[stepCount];
+        boolean[] teleports = new boolean[stepCount];
+
+        for (int step = 0; step < stepCount; step++) {
+            Location current = points.get(step);
+            Location next = points.get((step + 1) % points.size());
+
+            boolean teleport = !Objects.equals(current.getWorld(), next.getWorld())
+                    || current.distanceSquared(next) > TELEPORT_STEP_DISTANCE_SQUARED;
+
+            Location target = next.clone();
+            if (!teleport && next.getY() > current.getY()) {
+                target.setY(target.getY() + JUMP_LIFT);
+            }
+
+            targets[step] = target;
+            yaws[step] = calculateYaw(current, next);
+            pitches[step] = calculatePitch(current, next);
+            teleports[step] = teleport;
+        }
+
+        return new PathRoute(targets, yaws, pitches, teleports, loop);
+    }
+
+    /**
+     * Returns the number of steps of this route.
+     *
+     * @return the number of steps
+     */
+    public int getStepCount() {
+        return this.targets.length;
+    }
+
+    /**
+     * Returns the location the NPC is moved to by the given step.
+     *
+     * @param step the index of the step
+     * @return the target location of the step, must not be modified
+     */
+    public Location getTarget(int step) {
+        return this.targets[step];
+    }
+
+    /**
+     * Returns the yaw the NPC faces while taking the given step.
+     *
+     * @param step the index of the step
+     * @return the yaw in degrees
+     */
+    public float getYaw(int step) {
+        return this.yaws[step];
+    }
+
+    /**
+     * Returns the pitch the NPC faces while taking the given step.
+     *
+     * @param step the index of the step
+     * @return the pitch in degrees
+     */
+    public float getPitch(int step) {
+        return this.pitches[step];
+    }
+
+    /**
+     * Returns whether the given step has to be sent as a teleport.
+     *
+     * @param step the index of the step
+     * @return {@code true} if the step changes the world or is longer than a walking step
+     */
+    public boolean isTeleport(int step) {
+        return this.teleports[step];
+    }
+
+    /**
+     * Calculates the yaw angle between two locations in a 2D plane.
+     * The yaw is the angle of rotation around the Y-axis and represents
+     * the horizontal direction of movement from the starting location
+     * to the target location.
+     *
+     * @param from the starting location
+     * @param to   the target location
+     * @return the yaw angle in degrees, measured clockwise from the positive Z-axis,
+     * in the range of [0, 360).
+     */
+    private static float calculateYaw(Location from, Location to) {
+        double dx = to.getX() - from.getX();
+        double dz = to.getZ() - from.getZ();
+
+        float yaw = (float) Math.toDegrees(Math.atan2(-dx, dz));
+        return yaw < 0 ? yaw + 360 : yaw;
+    }
+
+    /**
+     * Calculates the pitch angle between two locations in 3D space.
+     * The pitch is the angle of rotation around the X-axis and represents
+     * the upward or downward direction of the movement between the two locations.
+     *
+     * @param from the starting location
+     * @param to   the target location
+     * @return the pitch angle in degrees, negative for downward direction and positive for upward direction
+     */
+    private static float calculatePitch(Location from, Location to) {
+        double dx = to.getX() - from.getX();
+        double dy = to.getY() - from.getY();
+        double dz = to.getZ() - from.getZ();
+
+        double horizontalDistance = Math.sqrt(dx * dx + dz * dz);
+        double pitch = -Math.toDegrees(Math.atan2(dy, horizontalDistance));
+
+        return (float) (pitch * 0.5);
+    }
+}
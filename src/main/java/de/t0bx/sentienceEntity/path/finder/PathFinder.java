@@ -0,0 +1,239 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.path.finder;
+
+import de.t0bx.sentienceEntity.path.snapshot.PathRegion;
+import de.t0bx.sentienceEntity.utils.collection.IntPriorityQueue;
+import de.t0bx.sentienceEntity.utils.collection.LongIntHashMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An A* path finder for walking entities that searches a captured {@link PathRegion}.
+ * <p>
+ * Nodes are stored in parallel primitive arrays and addressed by their index. The lookup
+ * from a block position to its node goes through a {@link LongIntHashMap} keyed by the
+ * packed block coordinates, and the open set is an {@link IntPriorityQueue} of node
+ * indices ordered by their f-cost. The search gives up after a fixed number of expanded
+ * nodes, which bounds both its running time and its memory.
+ * <p>
+ * Movement follows the same rules as before: an entity moves to one of its eight
+ * horizontal neighbours and may step up or down by one block on the way; diagonal moves
+ * must not cut corners. The cost of a move is its length, and the heuristic is the octile
+ * distance in the horizontal plane, which never overestimates the remaining cost.
+ * <p>
+ * A PathFinder reuses its buffers between searches and is not thread-safe.
+ */
+public class PathFinder {
+
+    private static final float DIAGONAL_COST = (float) Math.sqrt(2.0);
+    private static final float[] VERTICAL_COST = {1.0F, (float) Math.sqrt(2.0)};
+    private static final float[] DIAGONAL_VERTICAL_COST = {DIAGONAL_COST, (float) Math.sqrt(3.0)};
+
+    private static final int[] DIRECTION_X = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DIRECTION_Z = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private static final int NO_NODE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final PathRegion region;
+    private final int maxExpansions;
+
+    private final LongIntHashMap nodeIndex;
+    private final IntPriorityQueue open;
+
+    private int[] nodeX;
+    private int[] nodeY;
+    private int[] nodeZ;
+    private int[] parent;
+    private float[] gCost;
+    private boolean[] closed;
+    private int nodeCount;
+
+    /**
+     * Constructs a new PathFinder.
+     *
+     * @param region the captured region to search
+     * @param maxExpansions the maximum number of nodes a single search may expand
+     */
+    public PathFinder(PathRegion region, int maxExpansions) {
+        this.region = region;
+        this.maxExpansions = maxExpansions;
+        this.nodeIndex = new LongIntHashMap(INITIAL_CAPACITY, NO_NODE);
+        this.open = new IntPriorityQueue(INITIAL_CAPACITY);
+
+        this.nodeX = new int[INITIAL_CAPACITY];
+        this.nodeY = new int[INITIAL_CAPACITY];
+        this.nodeZ = new int[INITIAL_CAPACITY];
+        this.parent = new int[INITIAL_CAPACITY];
+        this.gCost = new float[INITIAL_CAPACITY];
+        this.closed = new boolean[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Searches the shortest walkable route between the blocks of the given locations.
+     *
+     * @param start the location to start from
+     * @param goal the location to walk to
+     * @param world the world used for the returned locations
+     * @return the centers of all blocks on the route including start and goal, or an empty
+     *         list if the goal is unreachable or the expansion limit was hit
+     */
+    public List<Location> findPath(Location start, Location goal, World world) {
+        this.reset();
+
+        int goalX = goal.getBlockX();
+        int goalY = goal.getBlockY();
+        int goalZ = goal.getBlockZ();
+
+        int startNode = this.addNode(start.getBlockX(), start.getBlockY(), start.getBlockZ(), NO_NODE, 0.0F);
+        this.open.add(startNode, heuristic(start.getBlockX(), start.getBlockZ(), goalX, goalZ));
+
+        int expansions = 0;
+        while (!this.open.isEmpty()) {
+            int current = this.open.poll();
+            if (this.closed[current]) continue;
+
+            int x = this.nodeX[current];
+            int y = this.nodeY[current];
+            int z = this.nodeZ[current];
+
+            if (x == goalX && y == goalY && z == goalZ) {
+                return this.reconstructPath(current, world);
+            }
+
+            if (++expansions > this.maxExpansions) break;
+            this.closed[current] = true;
+
+            for (int direction = 0; direction < DIRECTION_X.length; direction++) {
+                int dx = DIRECTION_X[direction];
+                int dz = DIRECTION_Z[direction];
+                boolean diagonal = dx != 0 && dz != 0;
+
+                if (diagonal && (!this.region.canStandAt(x + dx, y, z) || !this.region.canStandAt(x, y, z + dz))) {
+                    continue;
+                }
+
+                int neighborY;
+                if (this.region.canStandAt(x + dx, y, z + dz)) {
+                    neighborY = y;
+                } else if (this.region.canStandAt(x + dx, y + 1, z + dz)) {
+                    neighborY = y + 1;
+                } else if (this.region.canStandAt(x + dx, y - 1, z + dz)) {
+                    neighborY = y - 1;
+                } else {
+                    continue;
+                }
+
+                int vertical = neighborY == y ? 0 : 1;
+                float tentative = this.gCost[current] + (diagonal ? DIAGONAL_VERTICAL_COST[vertical] : VERTICAL_COST[vertical]);
+
+                int neighborX = x + dx;
+                int neighborZ = z + dz;
+                int neighbor = this.nodeIndex.get(pack(neighborX, neighborY, neighborZ));
+
+                if (neighbor == NO_NODE) {
+                    neighbor = this.addNode(neighborX, neighborY, neighborZ, current, tentative);
+                } else {
+                    if (this.closed[neighbor] || tentative >= this.gCost[neighbor]) continue;
+
+                    this.parent[neighbor] = current;
+                    this.gCost[neighbor] = tentative;
+                }
+
+                this.open.add(neighbor, tentative + heuristic(neighborX, neighborZ, goalX, goalZ));
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * Packs block coordinates into a single {@code long}, using 26 bits for x and z and 12
+     * bits for y, the same layout Minecraft uses for block positions.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param z the z coordinate
+     * @return the packed coordinates
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static float heuristic(int x, int z, int goalX, int goalZ) {
+        int dx = Math.abs(goalX - x);
+        int dz = Math.abs(goalZ - z);
+        return Math.max(dx, dz) + (DIAGONAL_COST - 1.0F) * Math.min(dx, dz);
+    }
+
+    private int addNode(int x, int y, int z, int parentNode, float g) {
+        if (this.nodeCount == this.nodeX.length) {
+            int capacity = this.nodeCount << 1;
+            this.nodeX = Arrays.copyOf(this.nodeX, capacity);
+            this.nodeY = Arrays.copyOf(this.nodeY, capacity);
+            this.nodeZ = Arrays.copyOf(this.nodeZ, capacity);
+            this.parent = Arrays.copyOf(this.parent, capacity);
+            this.gCost = Arrays.copyOf(this.gCost, capacity);
+            this.closed = Arrays.copyOf(this.closed, capacity);
+        }
+
+        int node = this.nodeCount++;
+        this.nodeX[node] = x;
+        this.nodeY[node] = y;
+        this.nodeZ[node] = z;
+        this.parent[node] = parentNode;
+        this.gCost[node] = g;
+        this.closed[node] = false;
+        this.nodeIndex.put(pack(x, y, z), node);
+        return node;
+    }
+
+    private List<Location> reconstructPath(int end, World world) {
+        List<Location> path = new ArrayList<>();
+        for (int node = end; node != NO_NODE; node = this.parent[node]) {
+            path.add(new Location(world, this.nodeX[node] + 0.5, this.nodeY[node], this.nodeZ[node] + 0.5));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private void reset() {
+        this.nodeIndex.clear();
+        this.open.clear();
+        this.nodeCount = 0;
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.path.movement;
+
+import de.t0bx.sentienceEntity.SentienceEntity;
+import de.t0bx.sentienceEntity.network.PacketController;
+import de.t0bx.sentienceEntity.network.PacketPlayer;
+import de.t0bx.sentienceEntity.network.utils.PacketUtils;
+import de.t0bx.sentienceEntity.network.wrapper.PacketWrapper;
+import de.t0bx.sentienceEntity.network.wrapper.packets.PacketSetHeadRotation;
+import de.t0bx.sentienceEntity.network.wrapper.packets.PacketTeleportEntity;
+import de.t0bx.sentienceEntity.network.wrapper.packets.PacketUpdateEntityPosition;
+import de.t0bx.sentienceEntity.network.wrapper.packets.PacketUpdateEntityPositionAndRotation;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Encodes the movement of a single entity into the cheapest packets the client accepts.
+ * <p>
+ * The encoder remembers the position the viewers last received, in the same 1/4096 block
+ * fixed point units the client uses for relative moves. A step that stays within the
+ * range of a relative move is sent as Update Entity Position, or as Update Entity Position
+ * and Rotation if the rotation changed. A full teleport is only sent for the first step,
+ * steps that are too long for a relative move, explicit teleports and every
+ * {@code resyncInterval} steps, so rounding errors on the client can never accumulate.
+ * <p>
+ * Viewers that did not receive the previous step, for example because the entity was just
+ * spawned for them, always receive a teleport, as their client does not know the position
+ * the relative move is based on. The same applies to viewers the entity was spawned for again
+ * in between, e.g. after a skin change, as the spawn packets place the entity at its home
+ * location; these have to be reported through {@link #invalidate(PacketPlayer)} or
+ * {@link #invalidateAll()}.
+ * <p>
+ * This class is not thread-safe and is meant to be used from the main thread.
+ */
+public class MovementEncoder {
+
+    private static final double POSITION_SCALE = 4096.0;
+
+    private final int entityId;
+    private final int resyncInterval;
+    private final Set<PacketPlayer> syncedViewers = new HashSet<>();
+
+    private boolean hasPosition;
+    private long lastX;
+    private long lastY;
+    private long lastZ;
+    private byte lastYaw;
+    private byte lastPitch;
+    private int stepsSinceSync;
+
+    /**
+     * Constructs a new MovementEncoder.
+     *
+     * @param entityId the id of the entity whose movement is encoded
+     * @param resyncInterval the number of steps after which a full teleport is sent
+     */
+    public MovementEncoder(int entityId, int resyncInterval) {
+        this.entityId = entityId;
+        this.resyncInterval = resyncInterval;
+    }
+
+    /**
+     * Moves the entity to the given location and sends the movement to the given viewers.
+     *
+     * @param viewers the players the entity is currently spawned for
+     * @param location the new location of the entity
+     * @param yaw the new yaw of the entity
+     * @param pitch the new pitch of the entity
+     * @param teleport whether the move has to be sent as a teleport
+     */
+    public void move(Collection<PacketPlayer> viewers, Location location, float yaw, float pitch, boolean teleport) {
+        long x = toFixed(location.getX());
+        long y = toFixed(location.getY());
+        long z = toFixed(location.getZ());
+        byte yawAngle = PacketUtils.toAngle(yaw);
+        byte pitchAngle = PacketUtils.toAngle(pitch);
+
+        long deltaX = x - this.lastX;
+        long deltaY = y - this.lastY;
+        long deltaZ = z - this.lastZ;
+
+        boolean resync = teleport
+                || !this.hasPosition
+                || ++this.stepsSinceSync >= this.resyncInterval
+                || !fitsShort(deltaX) || !fitsShort(deltaY) || !fitsShort(deltaZ);
+
+        PacketController packetController = SentienceEntity.getInstance().getPacketController();
+        PacketWrapper headRotation = new PacketSetHeadRotation(this.entityId, yaw);
+
+        if (resync) {
+            Location target = location.clone();
+            target.setYaw(yaw);
+            target.setPitch(pitch);
+
+            packetController.broadcast(viewers, new PacketTeleportEntity(this.entityId, target, 0, 0, 0, true), headRotation);
+            this.stepsSinceSync = 0;
+        } else {
+            List<PacketPlayer> synced = new ArrayList<>(viewers.size());
+            List<PacketPlayer> unsynced = new ArrayList<>();
+            for (PacketPlayer viewer : viewers) {
+                (this.syncedViewers.contains(viewer) ? synced : unsynced).add(viewer);
+            }
+
+            PacketWrapper relativeMove = yawAngle == this.lastYaw && pitchAngle == this.lastPitch
+                    ? new PacketUpdateEntityPosition(this.entityId, (short) deltaX, (short) deltaY, (short) deltaZ, true)
+                    : new PacketUpdateEntityPositionAndRotation(this.entityId, (short) deltaX, (short) deltaY, (short) deltaZ, yaw, pitch, true);
+            packetController.broadcast(synced, relativeMove, headRotation);
+
+            if (!unsynced.isEmpty()) {
+                Location target = location.clone();
+                target.setYaw(yaw);
+                target.setPitch(pitch);
+
+                packetController.broadcast(unsynced, new PacketTeleportEntity(this.entityId, target, 0, 0, 0, true), headRotation);
+            }
+        }
+
+        this.syncedViewers.clear();
+        this.syncedViewers.addAll(viewers);
+
+        this.hasPosition = true;
+        this.lastX = x;
+        this.lastY = y;
+        this.lastZ = z;
+        this.lastYaw = yawAngle;
+        this.lastPitch = pitchAngle;
+    }
+
+    /**
+     * Marks the given viewer as not knowing the last sent position, so it receives a
+     * teleport with the next step. This has to be called whenever the entity is spawned
+     * for the viewer again.
+     *
+     * @param viewer the viewer the entity was spawned for
+     */
+    public void invalidate(PacketPlayer viewer) {
+        this.syncedViewers.remove(viewer);
+    }
+
+    /**
+     * Marks all viewers as not knowing the last sent position, so every viewer receives
+     * a teleport with the next step.
+     */
+    public void invalidateAll() {
+        this.syncedViewers.clear();
+    }
+
+    private static long toFixed(double coordinate) {
+        return Math.round(coordinate * POSITION_SCALE);
+    }
+
+    private static boolean fitsShort(long delta) {
+        return delta >= Short.MIN_VALUE && delta <= Short.MAX_VALUE;
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.path.snapshot;
+
+import lombok.Getter;
+
+/**
+ * An immutable snapshot of the walkability of a box shaped region of a world. For every
+ * block inside the region two bits are stored: whether the block is passable and whether
+ * it is solid. This is all the path finder needs, so a region can be captured on the main
+ * thread and then searched on any thread without touching the world again.
+ * <p>
+ * Blocks outside of the region are treated as neither passable nor solid, so a path can
+ * never leave the captured region.
+ */
+public final class PathRegion {
+
+    /**
+     * The maximum number of blocks a single region may contain.
+     */
+    public static final long MAX_VOLUME = 1L << 26;
+
+    @Getter
+    private final int minX;
+    @Getter
+    private final int minY;
+    @Getter
+    private final int minZ;
+    @Getter
+    private final int sizeX;
+    @Getter
+    private final int sizeY;
+    @Getter
+    private final int sizeZ;
+
+    private final long[] passable;
+    private final long[] solid;
+
+    /**
+     * Constructs a new, empty PathRegion spanning the given inclusive block bounds.
+     *
+     * @param minX the lowest x coordinate of the region
+     * @param minY the lowest y coordinate of the region
+     * @param minZ the lowest z coordinate of the region
+     * @param maxX the highest x coordinate of the region
+     * @param maxY the highest y coordinate of the region
+     * @param maxZ the highest z coordinate of the region
+     * @throws IllegalArgumentException if the bounds are inverted or the region is larger than {@link #MAX_VOLUME}
+     */
+    PathRegion(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if (maxX < minX || maxY < minY || maxZ < minZ)
+            throw new IllegalArgumentException("Region bounds are inverted!");
+
+        long volume = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        if (volume > MAX_VOLUME)
+            throw new IllegalArgumentException("Region of " + volume + " blocks exceeds the maximum of " + MAX_VOLUME + " blocks!");
+
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = maxX - minX + 1;
+        this.sizeY = maxY - minY + 1;
+        this.sizeZ = maxZ - minZ + 1;
+
+        int words = (int) ((volume + 63) >>> 6);
+        this.passable = new long[words];
+        this.solid = new long[words];
+    }
+
+    /**
+     * Checks whether the given block position lies inside the region.
+     *
+     * @param x the x coordinate of the block
+     * @param y the y coordinate of the block
+     * @param z the z coordinate of the block
+     * @return true if the position is inside the region; false otherwise
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= this.minX && x < this.minX + this.sizeX
+                && y >= this.minY && y < this.minY + this.sizeY
+                && z >= this.minZ && z < this.minZ + this.sizeZ;
+    }
+
+    /**
+     * Checks whether the block at the given position can be walked through.
+     *
+     * @param x the x coordinate of the block
+     * @param y the y coordinate of the block
+     * @param z the z coordinate of the block
+     * @return true if the block is inside the region and passable; false otherwise
+     */
+    public boolean isPassable(int x, int y, int z) {
+        return this.contains(x, y, z) && get(this.passable, this.index(x, y, z));
+    }
+
+    /**
+     * Checks whether the block at the given position can be stood on.
+     *
+     * @param x the x coordinate of the block
+     * @param y the y coordinate of the block
+     * @param z the z coordinate of the block
+     * @return true if the block is inside the region and solid; false otherwise
+     */
+    public boolean isSolid(int x, int y, int z) {
+        return this.contains(x, y, z) && get(this.solid, this.index(x, y, z));
+    }
+
+    /**
+     * Determines if an entity can stand at the given position. The blocks at the feet and
+     * head of the entity have to be passable and the block below the feet has to be solid.
+     *
+     * @param x the x coordinate of the feet
+     * @param y the y coordinate of the feet
+     * @param z the z coordinate of the feet
+     * @return true if an entity can stand at the position; false otherwise
+     */
+    public boolean canStandAt(int x, int y, int z) {
+        return this.isPassable(x, y, z) && this.isPassable(x, y + 1, z) && this.isSolid(x, y - 1, z);
+    }
+
+    /**
+     * Stores the state of a single block. Only used while the region is captured.
+     */
+    void set(int x, int y, int z, boolean passable, boolean solid) {
+        int index = this.index(x, y, z);
+        if (passable) this.passable[index >>> 6] |= 1L << index;
+        if (solid) this.solid[index >>> 6] |= 1L << index;
+    }
+
+    private int index(int x, int y, int z) {
+        return ((y - this.minY) * this.sizeZ + (z - this.minZ)) * this.sizeX + (x - this.minX);
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
@@ -0,0 +1,248 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.path.snapshot;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Captures {@link PathRegion}s on the main thread. Reading blocks is only safe on the
+ * main thread, so all pending captures are processed by a single repeating task that
+ * works through them one chunk at a time and stops as soon as the time budget of the
+ * current tick is used up. Large regions or many regions requested at once are therefore
+ * spread over several ticks instead of stalling a single one.
+ * <p>
+ * Chunks that are not loaded are requested asynchronously on Paper, while the capture
+ * continues with other regions. On Spigot they are loaded synchronously, but at most one
+ * per tick and capture.
+ */
+public class PathRegionCapturer {
+
+    private final Plugin plugin;
+    private final boolean asyncChunkLoading;
+    private final long budgetNanos;
+    private final Deque<CaptureJob> jobs = new ArrayDeque<>();
+
+    private BukkitTask task;
+
+    /**
+     * Constructs a new PathRegionCapturer.
+     *
+     * @param plugin the plugin used to schedule the capture task
+     * @param asyncChunkLoading whether unloaded chunks can be loaded asynchronously (Paper only)
+     * @param budgetNanos the time in nanoseconds the capture may use per tick
+     */
+    public PathRegionCapturer(Plugin plugin, boolean asyncChunkLoading, long budgetNanos) {
+        this.plugin = plugin;
+        this.asyncChunkLoading = asyncChunkLoading;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Requests a capture of the given inclusive block bounds. This method may be called
+     * from any thread; the returned future is completed on the main thread.
+     *
+     * @param world the world to capture
+     * @param minX the lowest x coordinate of the region
+     * @param minY the lowest y coordinate of the region
+     * @param minZ the lowest z coordinate of the region
+     * @param maxX the highest x coordinate of the region
+     * @param maxY the highest y coordinate of the region
+     * @param maxZ the highest z coordinate of the region
+     * @return a future completed with the captured region
+     */
+    public CompletableFuture<PathRegion> capture(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        CompletableFuture<PathRegion> future = new CompletableFuture<>();
+
+        PathRegion region;
+        try {
+            region = new PathRegion(minX, minY, minZ, maxX, maxY, maxZ);
+        } catch (IllegalArgumentException exception) {
+            future.completeExceptionally(exception);
+            return future;
+        }
+
+        synchronized (this.jobs) {
+            this.jobs.add(new CaptureJob(world, region, future));
+
+            if (this.task == null) {
+                this.task = Bukkit.getScheduler().runTaskTimer(this.plugin, this::tick, 1L, 1L);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Cancels the capture task and fails all pending captures. This should be called when
+     * the plugin is disabled.
+     */
+    public void stop() {
+        synchronized (this.jobs) {
+            if (this.task != null) {
+                this.task.cancel();
+                this.task = null;
+            }
+
+            List<CaptureJob> pending = new ArrayList<>(this.jobs);
+            this.jobs.clear();
+
+            for (CaptureJob job : pending) {
+                job.future.completeExceptionally(new IllegalStateException("Region capture was stopped!"));
+            }
+        }
+    }
+
+    private void tick() {
+        long deadline = System.nanoTime() + this.budgetNanos;
+
+        synchronized (this.jobs) {
+            int waiting = 0;
+
+            while (!this.jobs.isEmpty() && waiting < this.jobs.size() && System.nanoTime() < deadline) {
+                CaptureJob job = this.jobs.peek();
+
+                Step step;
+                try {
+                    step = job.step();
+                } catch (Exception exception) {
+                    this.jobs.poll();
+                    job.future.completeExceptionally(exception);
+                    continue;
+                }
+
+                switch (step) {
+                    case DONE -> {
+                        this.jobs.poll();
+                        job.future.complete(job.region);
+                        waiting = 0;
+                    }
+                    case WAITING -> {
+                        this.jobs.add(this.jobs.poll());
+                        waiting++;
+                    }
+                    case PROGRESS -> waiting = 0;
+                }
+            }
+
+            if (this.jobs.isEmpty() && this.task != null) {
+                this.task.cancel();
+                this.task = null;
+            }
+        }
+    }
+
+    private enum Step {
+        PROGRESS,
+        WAITING,
+        DONE
+    }
+
+    /**
+     * The state of a single capture. The region is filled chunk column by chunk column.
+     */
+    private final class CaptureJob {
+
+        private final World world;
+        private final PathRegion region;
+        private final CompletableFuture<PathRegion> future;
+
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int chunksX;
+        private final int chunkCount;
+
+        private int chunkIndex;
+        private CompletableFuture<Chunk> pendingChunk;
+
+        private CaptureJob(World world, PathRegion region, CompletableFuture<PathRegion> future) {
+            this.world = world;
+            this.region = region;
+            this.future = future;
+
+            this.minChunkX = region.getMinX() >> 4;
+            this.minChunkZ = region.getMinZ() >> 4;
+            this.chunksX = ((region.getMinX() + region.getSizeX() - 1) >> 4) - this.minChunkX + 1;
+            int chunksZ = ((region.getMinZ() + region.getSizeZ() - 1) >> 4) - this.minChunkZ + 1;
+            this.chunkCount = this.chunksX * chunksZ;
+        }
+
+        private Step step() {
+            if (this.chunkIndex >= this.chunkCount) return Step.DONE;
+
+            int chunkX = this.minChunkX + this.chunkIndex % this.chunksX;
+            int chunkZ = this.minChunkZ + this.chunkIndex / this.chunksX;
+
+            if (!this.world.isChunkLoaded(chunkX, chunkZ) && asyncChunkLoading) {
+                if (this.pendingChunk == null) {
+                    this.pendingChunk = this.world.getChunkAtAsync(chunkX, chunkZ);
+                }
+                if (!this.pendingChunk.isDone()) return Step.WAITING;
+            }
+            this.pendingChunk = null;
+
+            this.captureChunk(this.world.getChunkAt(chunkX, chunkZ));
+            this.chunkIndex++;
+
+            return this.chunkIndex >= this.chunkCount ? Step.DONE : Step.PROGRESS;
+        }
+
+        private void captureChunk(Chunk chunk) {
+            int baseX = chunk.getX() << 4;
+            int baseZ = chunk.getZ() << 4;
+
+            int fromX = Math.max(this.region.getMinX(), baseX);
+            int toX = Math.min(this.region.getMinX() + this.region.getSizeX() - 1, baseX + 15);
+            int fromZ = Math.max(this.region.getMinZ(), baseZ);
+            int toZ = Math.min(this.region.getMinZ() + this.region.getSizeZ() - 1, baseZ + 15);
+            int fromY = this.region.getMinY();
+            int toY = fromY + this.region.getSizeY() - 1;
+
+            for (int y = fromY; y <= toY; y++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        Block block = chunk.getBlock(x & 15, y, z & 15);
+                        this.region.set(x, y, z, block.isPassable(), block.getType().isSolid());
+                    }
+                }
+            }
+        }
+    }
+}
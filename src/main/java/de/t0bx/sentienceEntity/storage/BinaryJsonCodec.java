@@ -0,0 +1,212 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.storage;
+
+import com.google.gson.*;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Encodes {@link JsonElement} trees in a compact binary form. Every value starts with a
+ * one byte tag, integral numbers are stored without their decimal representation and
+ * strings and container sizes use a variable length prefix. Decoding does not need to
+ * tokenize any text, which makes loading thousands of records considerably cheaper than
+ * parsing them from JSON.
+ */
+public final class BinaryJsonCodec {
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_TRUE = 1;
+    private static final byte TAG_FALSE = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_DOUBLE = 5;
+    private static final byte TAG_STRING = 6;
+    private static final byte TAG_ARRAY = 7;
+    private static final byte TAG_OBJECT = 8;
+
+    private static final double MAX_SAFE_LONG = 9007199254740992.0;
+
+    private BinaryJsonCodec() {
+    }
+
+    /**
+     * Writes the given element and all of its children.
+     *
+     * @param out the output to write to
+     * @param element the element to write
+     * @throws IOException if writing to the output fails
+     */
+    public static void write(DataOutput out, JsonElement element) throws IOException {
+        if (element == null || element.isJsonNull()) {
+            out.writeByte(TAG_NULL);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            out.writeByte(TAG_OBJECT);
+            writeVarInt(out, object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeString(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            out.writeByte(TAG_ARRAY);
+            writeVarInt(out, array.size());
+            for (JsonElement child : array) {
+                write(out, child);
+            }
+        } else {
+            writePrimitive(out, element.getAsJsonPrimitive());
+        }
+    }
+
+    /**
+     * Reads an element previously written by {@link #write(DataOutput, JsonElement)}.
+     *
+     * @param in the input to read from
+     * @return the decoded element
+     * @throws IOException if reading from the input fails or the data is malformed
+     */
+    public static JsonElement read(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_NULL -> JsonNull.INSTANCE;
+            case TAG_TRUE -> new JsonPrimitive(true);
+            case TAG_FALSE -> new JsonPrimitive(false);
+            case TAG_INT -> new JsonPrimitive(in.readInt());
+            case TAG_LONG -> new JsonPrimitive(in.readLong());
+            case TAG_DOUBLE -> new JsonPrimitive(in.readDouble());
+            case TAG_STRING -> new JsonPrimitive(readString(in));
+            case TAG_ARRAY -> {
+                int size = readVarInt(in);
+                JsonArray array = new JsonArray(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(read(in));
+                }
+                yield array;
+            }
+            case TAG_OBJECT -> {
+                int size = readVarInt(in);
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    String key = readString(in);
+                    object.add(key, read(in));
+                }
+                yield object;
+            }
+            default -> throw new IOException("Unknown value tag " + tag);
+        };
+    }
+
+    /**
+     * Writes a string as its UTF-8 bytes, prefixed with their count.
+     *
+     * @param out the output to write to
+     * @param value the string to write
+     * @throws IOException if writing to the output fails
+     */
+    public static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string previously written by {@link #writeString(DataOutput, String)}.
+     *
+     * @param in the input to read from
+     * @return the decoded string
+     * @throws IOException if reading from the input fails
+     */
+    public static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writePrimitive(DataOutput out, JsonPrimitive primitive) throws IOException {
+        if (primitive.isBoolean()) {
+            out.writeByte(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+            return;
+        }
+
+        if (primitive.isString()) {
+            out.writeByte(TAG_STRING);
+            writeString(out, primitive.getAsString());
+            return;
+        }
+
+        Number number = primitive.getAsNumber();
+        double value = number.doubleValue();
+        if (value == Math.rint(value) && Math.abs(value) < MAX_SAFE_LONG) {
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                out.writeByte(TAG_INT);
+                out.writeInt((int) value);
+            } else {
+                out.writeByte(TAG_LONG);
+                out.writeLong(number.longValue());
+            }
+            return;
+        }
+
+        out.writeByte(TAG_DOUBLE);
+        out.writeDouble(value);
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        int position = 0;
+        byte current;
+
+        do {
+            current = in.readByte();
+            value |= (current & 0x7F) << position;
+            position += 7;
+
+            if (position > 35) throw new IOException("VarInt is too big");
+        } while ((current & 0x80) != 0);
+
+        if (value < 0) throw new IOException("Negative length " + value);
+        return value;
+    }
+}
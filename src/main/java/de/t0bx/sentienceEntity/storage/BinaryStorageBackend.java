@@ -0,0 +1,394 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link StorageBackend} that stores all records in a single append-only log file
+ * ({@code storage.bin}). Every change to a record appends one entry holding the whole
+ * record encoded with {@link BinaryJsonCodec}, so an edit never rewrites unrelated
+ * records and startup only has to decode binary data instead of parsing JSON text.
+ * <p>
+ * Changes are coalesced in memory and appended by a background task, so a record that
+ * is edited several times between two writes is only appended once. Each entry carries a
+ * checksum; a torn entry at the end of the log (for example after a crash during a
+ * write) is discarded when the log is opened. On startup the log is compacted into a
+ * fresh file when it mostly consists of outdated entries.
+ * <p>
+ * If the log file does not exist yet, the records of the {@link JsonStorageBackend} are
+ * imported, so switching the {@code storage-type} keeps all existing data.
+ */
+public class BinaryStorageBackend implements StorageBackend {
+
+    private static final int MAGIC = 0x53454C47;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+
+    private static final int MAX_ENTRY_SIZE = 1 << 24;
+    private static final int COMPACTION_MIN_ENTRIES = 256;
+
+    private final Plugin plugin;
+    private final File file;
+    private final EnumMap<StorageCategory, Map<String, JsonObject>> records = new EnumMap<>(StorageCategory.class);
+    private final EnumMap<StorageCategory, Set<String>> pending = new EnumMap<>(StorageCategory.class);
+    private final Object flushLock = new Object();
+
+    private FileChannel channel;
+    private BukkitTask task;
+
+    /**
+     * Constructs a new BinaryStorageBackend and opens the log in the data folder of the
+     * given plugin, importing the JSON files if no log exists yet.
+     *
+     * @param plugin the plugin whose data folder contains the log
+     * @throws IllegalStateException if the log cannot be opened
+     */
+    public BinaryStorageBackend(Plugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "storage.bin");
+
+        for (StorageCategory category : StorageCategory.values()) {
+            this.records.put(category, new LinkedHashMap<>());
+            this.pending.put(category, new LinkedHashSet<>());
+        }
+
+        try {
+            if (this.file.exists()) {
+                this.load();
+            } else {
+                this.importJson();
+                this.compact();
+            }
+
+            this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to open " + this.file.getName(), exception);
+        }
+    }
+
+    @Override
+    public synchronized Map<String, JsonObject> loadAll(StorageCategory category) {
+        Map<String, JsonObject> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonObject> entry : this.records.get(category).entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().deepCopy());
+        }
+        return copy;
+    }
+
+    @Override
+    public synchronized @Nullable JsonObject load(StorageCategory category, String key) {
+        JsonObject record = this.records.get(category).get(key);
+        return record == null ? null : record.deepCopy();
+    }
+
+    @Override
+    public synchronized void save(StorageCategory category, String key, JsonObject record) {
+        this.records.get(category).put(key, record.deepCopy());
+        this.pending.get(category).add(key);
+    }
+
+    @Override
+    public synchronized void update(StorageCategory category, String key, Consumer<JsonObject> editor) {
+        editor.accept(this.records.get(category).computeIfAbsent(key, k -> new JsonObject()));
+        this.pending.get(category).add(key);
+    }
+
+    @Override
+    public synchronized void delete(StorageCategory category, String key) {
+        if (this.records.get(category).remove(key) == null) return;
+
+        this.pending.get(category).add(key);
+    }
+
+    @Override
+    public void start(long intervalTicks) {
+        if (this.task != null) return;
+
+        this.task = Bukkit.getScheduler().runTaskTimerAsynchronously(this.plugin, this::flush, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Appends one entry for every record that changed since the last write. Concurrent
+     * flushes are serialized, so entries are always appended in the order of the changes.
+     */
+    @Override
+    public void flush() {
+        synchronized (this.flushLock) {
+            EnumMap<StorageCategory, Map<String, JsonObject>> changes = new EnumMap<>(StorageCategory.class);
+            synchronized (this) {
+                for (StorageCategory category : StorageCategory.values()) {
+                    Set<String> keys = this.pending.get(category);
+                    if (keys.isEmpty()) continue;
+
+                    Map<String, JsonObject> categoryChanges = new LinkedHashMap<>();
+                    for (String key : keys) {
+                        JsonObject record = this.records.get(category).get(key);
+                        categoryChanges.put(key, record == null ? null : record.deepCopy());
+                    }
+                    changes.put(category, categoryChanges);
+                    keys.clear();
+                }
+            }
+
+            if (changes.isEmpty() || this.channel == null) return;
+
+            long start = -1;
+            try {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(buffer);
+                for (Map.Entry<StorageCategory, Map<String, JsonObject>> categoryEntry : changes.entrySet()) {
+                    for (Map.Entry<String, JsonObject> entry : categoryEntry.getValue().entrySet()) {
+                        this.writeEntry(out, categoryEntry.getKey(), entry.getKey(), entry.getValue());
+                    }
+                }
+                out.flush();
+
+                ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+                start = this.channel.position();
+                while (bytes.hasRemaining()) {
+                    this.channel.write(bytes);
+                }
+                this.channel.force(false);
+            } catch (IOException exception) {
+                if (start >= 0) {
+                    this.discardPartialWrite(start);
+                }
+                synchronized (this) {
+                    changes.forEach((category, categoryChanges) -> this.pending.get(category).addAll(categoryChanges.keySet()));
+                }
+                this.plugin.getLogger().log(Level.SEVERE, "Failed to write " + this.file.getName(), exception);
+            }
+        }
+    }
+
+    /**
+     * Cuts off whatever a failed write left behind after the given position. Otherwise the
+     * retried entries would be appended after a corrupt entry, and replaying would stop
+     * there and drop every entry written afterwards.
+     *
+     * @param start the size of the log before the failed write
+     */
+    private void discardPartialWrite(long start) {
+        try {
+            this.channel.truncate(start);
+            this.channel.position(start);
+        } catch (IOException exception) {
+            this.plugin.getLogger().log(Level.SEVERE, "Failed to discard a partial write to " + this.file.getName(), exception);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.flush();
+
+        synchronized (this.flushLock) {
+            if (this.channel == null) return;
+
+            try {
+                this.channel.close();
+            } catch (IOException exception) {
+                this.plugin.getLogger().log(Level.SEVERE, "Failed to close " + this.file.getName(), exception);
+            }
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Replays the log into memory. Replaying stops at the first incomplete or corrupt
+     * entry, which is cut off so new entries are appended after the last valid one.
+     */
+    private void load() throws IOException {
+        long validLength = HEADER_SIZE;
+        int entries = 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+            if (in.readInt() != MAGIC) throw new IOException(this.file.getName() + " is not a storage file");
+
+            byte version = in.readByte();
+            if (version != VERSION) throw new IOException("Unsupported storage version " + version);
+
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] body;
+                try {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if (length <= 0 || length > MAX_ENTRY_SIZE) break;
+
+                    body = new byte[length];
+                    in.readFully(body);
+
+                    crc.reset();
+                    crc.update(body);
+                    if ((int) crc.getValue() != checksum) break;
+                } catch (EOFException exception) {
+                    break;
+                }
+
+                this.applyEntry(body);
+                validLength += 8 + body.length;
+                entries++;
+            }
+        }
+
+        if (validLength < this.file.length()) {
+            this.plugin.getLogger().warning("Discarding " + (this.file.length() - validLength) + " bytes of incomplete data at the end of " + this.file.getName());
+            try (FileChannel truncate = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE)) {
+                truncate.truncate(validLength);
+            }
+        }
+
+        int liveRecords = 0;
+        for (Map<String, JsonObject> categoryRecords : this.records.values()) {
+            liveRecords += categoryRecords.size();
+        }
+
+        if (entries > COMPACTION_MIN_ENTRIES && entries > liveRecords * 2) {
+            this.compact();
+        }
+    }
+
+    private void applyEntry(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        byte operation = in.readByte();
+        int ordinal = in.readByte();
+        if (ordinal < 0 || ordinal >= StorageCategory.values().length) throw new IOException("Unknown category " + ordinal);
+
+        StorageCategory category = StorageCategory.values()[ordinal];
+        String key = BinaryJsonCodec.readString(in);
+
+        switch (operation) {
+            case OP_PUT -> {
+                JsonElement record = BinaryJsonCodec.read(in);
+                if (record.isJsonObject()) {
+                    this.records.get(category).put(key, record.getAsJsonObject());
+                }
+            }
+            case OP_DELETE -> this.records.get(category).remove(key);
+            default -> throw new IOException("Unknown operation " + operation);
+        }
+    }
+
+    /**
+     * Writes all live records into a new log and atomically replaces the current one with it.
+     */
+    private void compact() throws IOException {
+        File parent = this.file.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+
+        File tempFile = new File(parent, this.file.getName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(tempFile);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+
+            for (Map.Entry<StorageCategory, Map<String, JsonObject>> categoryEntry : this.records.entrySet()) {
+                for (Map.Entry<String, JsonObject> entry : categoryEntry.getValue().entrySet()) {
+                    this.writeEntry(out, categoryEntry.getKey(), entry.getKey(), entry.getValue());
+                }
+            }
+
+            out.flush();
+            fileOut.getFD().sync();
+        }
+
+        try {
+            Files.move(tempFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(tempFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void importJson() {
+        JsonStorageBackend jsonStorage = new JsonStorageBackend(this.plugin);
+
+        int imported = 0;
+        for (StorageCategory category : StorageCategory.values()) {
+            Map<String, JsonObject> categoryRecords = jsonStorage.loadAll(category);
+            this.records.get(category).putAll(categoryRecords);
+            imported += categoryRecords.size();
+        }
+
+        if (imported > 0) {
+            this.plugin.getLogger().info("Imported " + imported + " records from the JSON files into " + this.file.getName() + ".");
+        }
+    }
+
+    /**
+     * Writes a single log entry. A {@code null} record is written as a deletion.
+     */
+    private void writeEntry(DataOutputStream out, StorageCategory category, String key, JsonObject record) throws IOException {
+        ByteArrayOutputStream bodyBuffer = new ByteArrayOutputStream();
+        DataOutputStream body = new DataOutputStream(bodyBuffer);
+        body.writeByte(record == null ? OP_DELETE : OP_PUT);
+        body.writeByte(category.ordinal());
+        BinaryJsonCodec.writeString(body, key);
+        if (record != null) {
+            BinaryJsonCodec.write(body, record);
+        }
+        body.flush();
+
+        byte[] bytes = bodyBuffer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        out.writeInt(bytes.length);
+        out.writeInt((int) crc.getValue());
+        out.write(bytes);
+    }
+}
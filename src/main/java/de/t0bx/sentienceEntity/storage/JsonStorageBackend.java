@@ -0,0 +1,262 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import de.t0bx.sentienceEntity.utils.JsonDocument;
+import de.t0bx.sentienceEntity.utils.WriteBehindDocument;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * A {@link StorageBackend} that keeps the original JSON file layout of the plugin:
+ * NPCs are stored in {@code npcs.json}, holograms in {@code holograms.json} and every
+ * path in its own {@code paths/<name>.json} file.
+ * <p>
+ * The single file categories are backed by a {@link WriteBehindDocument}. Paths are kept
+ * in memory as well, and only the files of paths that changed since the last write are
+ * rewritten.
+ */
+public class JsonStorageBackend implements StorageBackend {
+
+    private final Plugin plugin;
+    private final WriteBehindDocument npcDocument;
+    private final WriteBehindDocument hologramDocument;
+
+    private final File pathsFolder;
+    private final Map<String, JsonObject> paths = new LinkedHashMap<>();
+    private final Set<String> dirtyPaths = new HashSet<>();
+    private final Object flushLock = new Object();
+
+    private BukkitTask task;
+
+    /**
+     * Constructs a new JsonStorageBackend and loads all files from the data folder of the
+     * given plugin.
+     *
+     * @param plugin the plugin whose data folder contains the files
+     */
+    public JsonStorageBackend(Plugin plugin) {
+        this.plugin = plugin;
+        this.npcDocument = new WriteBehindDocument(plugin, new File(plugin.getDataFolder(), "npcs.json"));
+        this.hologramDocument = new WriteBehindDocument(plugin, new File(plugin.getDataFolder(), "holograms.json"));
+        this.pathsFolder = new File(plugin.getDataFolder(), "paths/");
+        this.loadPaths();
+    }
+
+    @Override
+    public Map<String, JsonObject> loadAll(StorageCategory category) {
+        Map<String, JsonObject> records = new LinkedHashMap<>();
+
+        if (category == StorageCategory.PATHS) {
+            synchronized (this) {
+                for (Map.Entry<String, JsonObject> entry : this.paths.entrySet()) {
+                    records.put(entry.getKey(), entry.getValue().deepCopy());
+                }
+            }
+            return records;
+        }
+
+        for (Map.Entry<String, JsonElement> entry : this.getDocument(category).snapshot().entrySet()) {
+            if (!entry.getValue().isJsonObject()) continue;
+
+            records.put(entry.getKey(), entry.getValue().getAsJsonObject());
+        }
+        return records;
+    }
+
+    @Override
+    public @Nullable JsonObject load(StorageCategory category, String key) {
+        if (category == StorageCategory.PATHS) {
+            synchronized (this) {
+                JsonObject record = this.paths.get(key);
+                return record == null ? null : record.deepCopy();
+            }
+        }
+
+        return this.getDocument(category).read(document -> {
+            JsonElement element = document.get(key);
+            return element != null && element.isJsonObject() ? element.getAsJsonObject().deepCopy() : null;
+        });
+    }
+
+    @Override
+    public void save(StorageCategory category, String key, JsonObject record) {
+        JsonObject copy = record.deepCopy();
+
+        if (category == StorageCategory.PATHS) {
+            synchronized (this) {
+                this.paths.put(key, copy);
+                this.dirtyPaths.add(key);
+            }
+            return;
+        }
+
+        this.getDocument(category).edit(document -> document.set(key, copy));
+    }
+
+    @Override
+    public void update(StorageCategory category, String key, Consumer<JsonObject> editor) {
+        if (category == StorageCategory.PATHS) {
+            synchronized (this) {
+                editor.accept(this.paths.computeIfAbsent(key, k -> new JsonObject()));
+                this.dirtyPaths.add(key);
+            }
+            return;
+        }
+
+        this.getDocument(category).edit(document -> {
+            JsonElement element = document.get(key);
+            JsonObject record;
+            if (element != null && element.isJsonObject()) {
+                record = element.getAsJsonObject();
+            } else {
+                record = new JsonObject();
+                document.set(key, record);
+            }
+
+            editor.accept(record);
+        });
+    }
+
+    @Override
+    public void delete(StorageCategory category, String key) {
+        if (category == StorageCategory.PATHS) {
+            synchronized (this) {
+                if (this.paths.remove(key) != null) {
+                    this.dirtyPaths.add(key);
+                }
+            }
+            return;
+        }
+
+        this.getDocument(category).edit(document -> document.remove(key));
+    }
+
+    @Override
+    public void start(long intervalTicks) {
+        if (this.task != null) return;
+
+        this.task = Bukkit.getScheduler().runTaskTimerAsynchronously(this.plugin, this::flush, intervalTicks, intervalTicks);
+    }
+
+    @Override
+    public void flush() {
+        this.npcDocument.flush();
+        this.hologramDocument.flush();
+        this.flushPaths();
+    }
+
+    @Override
+    public void close() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.flush();
+    }
+
+    private WriteBehindDocument getDocument(StorageCategory category) {
+        return switch (category) {
+            case NPCS -> this.npcDocument;
+            case HOLOGRAMS -> this.hologramDocument;
+            case PATHS -> throw new IllegalArgumentException("Paths are not stored in a single document!");
+        };
+    }
+
+    private void loadPaths() {
+        if (!this.pathsFolder.exists()) this.pathsFolder.mkdirs();
+
+        File[] files = this.pathsFolder.listFiles();
+        if (files == null) return;
+
+        for (File file : files) {
+            if (!file.getName().endsWith(".json")) continue;
+
+            JsonDocument document = JsonDocument.loadDocument(file);
+            if (document == null || document.getJsonObject() == null) {
+                this.plugin.getLogger().severe("Failed to load path '" + file.getName() + "'");
+                continue;
+            }
+
+            String pathName = file.getName().substring(0, file.getName().length() - 5);
+            this.paths.put(pathName, document.getJsonObject());
+        }
+    }
+
+    /**
+     * Rewrites the files of all paths that changed since the last write and deletes the
+     * files of removed paths.
+     */
+    private void flushPaths() {
+        synchronized (this.flushLock) {
+            Map<String, JsonObject> pending = new HashMap<>();
+            synchronized (this) {
+                if (this.dirtyPaths.isEmpty()) return;
+
+                for (String pathName : this.dirtyPaths) {
+                    JsonObject record = this.paths.get(pathName);
+                    pending.put(pathName, record == null ? null : record.deepCopy());
+                }
+                this.dirtyPaths.clear();
+            }
+
+            for (Map.Entry<String, JsonObject> entry : pending.entrySet()) {
+                File file = new File(this.pathsFolder, entry.getKey() + ".json");
+
+                try {
+                    if (entry.getValue() == null) {
+                        if (file.exists() && !file.delete()) {
+                            throw new IOException("Could not delete " + file.getName());
+                        }
+                        continue;
+                    }
+
+                    new JsonDocument(entry.getValue()).saveAtomically(file);
+                } catch (IOException exception) {
+                    synchronized (this) {
+                        this.dirtyPaths.add(entry.getKey());
+                    }
+                    this.plugin.getLogger().log(Level.SEVERE, "Failed to save path " + entry.getKey(), exception);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.storage;
+
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Persists the NPC, hologram and path records of the plugin. A record is a
+ * {@link JsonObject} identified by its {@link StorageCategory} and a key, and always has
+ * the same layout regardless of the implementation, so the handlers do not need to know
+ * how or where it is stored.
+ * <p>
+ * Implementations keep the records in memory and write changes back lazily in the
+ * background. All mutating methods only touch memory and are cheap enough to be called
+ * from the main thread; {@link #close()} writes everything that is still pending.
+ */
+public interface StorageBackend {
+
+    /**
+     * Loads all records of the given category.
+     *
+     * @param category the category to load
+     * @return a map of all keys to copies of their records, in insertion order
+     */
+    Map<String, JsonObject> loadAll(StorageCategory category);
+
+    /**
+     * Loads a single record.
+     *
+     * @param category the category of the record
+     * @param key the key of the record
+     * @return a copy of the record, or {@code null} if no record is stored under the key
+     */
+    @Nullable
+    JsonObject load(StorageCategory category, String key);
+
+    /**
+     * Stores the given record, replacing any record stored under the same key.
+     *
+     * @param category the category of the record
+     * @param key the key of the record
+     * @param record the record to store; a copy is kept, so later changes to it are not persisted
+     */
+    void save(StorageCategory category, String key, JsonObject record);
+
+    /**
+     * Applies the given edit to the stored record. If no record is stored under the key yet,
+     * the edit is applied to a new, empty record.
+     *
+     * @param category the category of the record
+     * @param key the key of the record
+     * @param editor the edit to apply to the record
+     */
+    void update(StorageCategory category, String key, Consumer<JsonObject> editor);
+
+    /**
+     * Deletes the record stored under the given key, if there is one.
+     *
+     * @param category the category of the record
+     * @param key the key of the record
+     */
+    void delete(StorageCategory category, String key);
+
+    /**
+     * Starts writing pending changes to disk in the background.
+     *
+     * @param intervalTicks the interval in ticks in which pending changes are written
+     */
+    void start(long intervalTicks);
+
+    /**
+     * Writes all pending changes to disk.
+     */
+    void flush();
+
+    /**
+     * Stops the background writer and synchronously writes all pending changes.
+     * This should be called when the plugin is disabled.
+     */
+    void close();
+}
@@ -36,6 +36,9 @@ import lombok.Setter;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 import java.util.Set;
 
@@ -47,6 +50,8 @@ public class JsonDocument {
 
     private static final JsonParser parser = new JsonParser();
 
+    private static final Gson TREE_GSON = new Gson();
+
     private final Gson gson;
 
     public JsonDocument() {
@@ -77,6 +82,32 @@ public class JsonDocument {
         }
     }
 
+    /**
+     * Saves the document to the given file without ever leaving a partially written file behind.
+     * The content is written to a temporary file in the same directory first, which is then
+     * moved over the target file in a single, atomic step where the file system supports it.
+     *
+     * @param file the file the document should be saved to
+     * @throws IOException if the document could not be written or moved into place
+     */
+    public void saveAtomically(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+
+        File tempFile = new File(parent, file.getName() + ".tmp");
+        try (OutputStreamWriter outputStreamWriter = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+            gson.toJson(jsonObject, outputStreamWriter);
+        }
+
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     public JsonElement get(String key) {
         return jsonObject.get(key);
     }
@@ -110,9 +141,21 @@ public class JsonDocument {
     }
 
     public void update(String path, Object value) {
+        update(this.jsonObject, path, value);
+    }
+
+    /**
+     * Sets the value at the given dot separated path inside the given object. Missing
+     * intermediate objects are created on the way.
+     *
+     * @param root the object to update
+     * @param path the dot separated path of the value, e.g. {@code settings.permission}
+     * @param value the value to set
+     */
+    public static void update(JsonObject root, String path, Object value) {
         try {
             String[] pathParts = path.split("\\.");
-            JsonElement current = jsonObject;
+            JsonElement current = root;
 
             for (int i = 0; i < pathParts.length - 1; i++) {
                 String part = pathParts[i];
@@ -136,7 +179,7 @@ public class JsonDocument {
                     case Boolean b -> parentObj.addProperty(lastPart, b);
                     case JsonElement element -> parentObj.add(lastPart, element);
                     case null -> parentObj.add(lastPart, JsonNull.INSTANCE);
-                    default -> parentObj.add(lastPart, gson.toJsonTree(value));
+                    default -> parentObj.add(lastPart, TREE_GSON.toJsonTree(value));
                 }
 
             }
@@ -35,6 +35,14 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class ReflectionUtils {
 
+    /**
+     * Marker stored in {@link #entityCounter} if the server keeps its entity count in a primitive int field.
+     */
+    private static final AtomicInteger LEGACY_ENTITY_COUNTER = new AtomicInteger();
+
+    private static volatile AtomicInteger entityCounter;
+    private static Field legacyEntityCountField;
+
     /**
      * Retrieves all declared fields of the specified class.
      * This includes private, protected, and public fields of the class.
@@ -112,34 +120,78 @@ public class ReflectionUtils {
     }
 
     /**
-     * Generates a unique and valid entity ID for a Minecraft entity by reflecting
-     * on the underlying class and modifying the entity ID count field.
-     *
-     * This method dynamically inspects the entity class to locate a static field
-     * storing the entity ID count. Depending on the type of this field, it updates
-     * the count either as an {@code AtomicInteger} or a primitive int value.
+     * Generates a unique and valid entity ID for a Minecraft entity by reserving it
+     * from the entity ID counter of the server, see {@link #reserveEntityIds(int)}.
      *
      * @return A unique integer representing a valid entity ID.
      * @throws RuntimeException if the entity class or entity count field is
      *         inaccessible or not found.
      */
     public static int generateValidMinecraftEntityId() {
+        return reserveEntityIds(1);
+    }
+
+    /**
+     * Reserves a contiguous block of unique and valid entity IDs from the entity ID
+     * counter of the server and returns the first one. The IDs {@code first} up to
+     * {@code first + count - 1} can then be used without any further lookups.
+     *
+     * The counter field of the entity class is only looked up once. On current servers
+     * it is an {@code AtomicInteger}, which is cached and advanced with a single
+     * {@code getAndAdd}, so reserving IDs never touches reflection again. Servers that
+     * still store the count in a primitive int field are supported through the cached field.
+     *
+     * @param count The number of IDs to reserve. Must be at least 1.
+     * @return The first of the reserved entity IDs.
+     * @throws IllegalArgumentException if {@code count} is less than 1.
+     * @throws RuntimeException if the entity class or entity count field is
+     *         inaccessible or not found.
+     */
+    public static int reserveEntityIds(int count) {
+        if (count < 1)
+            throw new IllegalArgumentException("Count must be at least 1, got " + count + "!");
+
+        AtomicInteger counter = entityCounter;
+        if (counter == null) {
+            counter = resolveEntityCounter();
+        }
+
+        if (counter != LEGACY_ENTITY_COUNTER) {
+            return counter.getAndAdd(count) + 1;
+        }
+
+        synchronized (ReflectionUtils.class) {
+            try {
+                int id = legacyEntityCountField.getInt(null);
+                legacyEntityCountField.setInt(null, id + count);
+                return id;
+            } catch (IllegalAccessException exception) {
+                exception.printStackTrace();
+                throw new RuntimeException(exception);
+            }
+        }
+    }
+
+    private static synchronized AtomicInteger resolveEntityCounter() {
+        if (entityCounter != null) return entityCounter;
+
         try {
             Class<?> entityClass = Class.forName("net.minecraft.world.entity.Entity");
             Field entityCountField = getField(entityClass, "entityCount");
             if (entityCountField == null) {
                 entityCountField = getField(entityClass, AtomicInteger.class, 0);
             }
+            if (entityCountField == null)
+                throw new IllegalStateException("Entity count field not found in " + entityClass.getName());
 
             entityCountField.setAccessible(true);
             if (entityCountField.getType().equals(AtomicInteger.class)) {
-                AtomicInteger atomicInteger = (AtomicInteger) entityCountField.get(null);
-                return atomicInteger.incrementAndGet();
+                entityCounter = (AtomicInteger) entityCountField.get(null);
             } else {
-                int id = entityCountField.getInt(null);
-                entityCountField.set(null, id + 1);
-                return id;
+                legacyEntityCountField = entityCountField;
+                entityCounter = LEGACY_ENTITY_COUNTER;
             }
+            return entityCounter;
         } catch (ClassNotFoundException | IllegalAccessException exception) {
             exception.printStackTrace();
             throw new RuntimeException(exception);
@@ -30,28 +30,79 @@
 
 package de.t0bx.sentienceEntity.utils;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
 
+/**
+ * Fetches the skins of Minecraft players from Mojang's API and caches them.
+ * <p>
+ * The cache is thread-safe and keyed by the lower case player name. Concurrent requests for
+ * the same name share a single {@link CompletableFuture}, so creating many NPCs with the same
+ * skin only calls Mojang once. Entries expire after the configured time to live, and once the
+ * cache holds more than the configured number of skins, the oldest ones are evicted.
+ * <p>
+ * The cache is persisted to {@code skins.json} in the data folder. It is written shortly after
+ * new skins were fetched and on {@link #shutdown()}, and loaded again on startup, so a restart
+ * does not have to fetch any skin that is still fresh.
+ */
 public class SkinFetcher {
+
+    private static final long SAVE_DELAY_TICKS = 100L;
+    private static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(1440);
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
     private final JavaPlugin plugin;
-    private final Map<String, SkinData> skinCache = new HashMap<>();
+    private final File cacheFile;
+    private final long timeToLiveMillis;
+    private final int maxSize;
+
+    private final Map<String, SkinData> skinCache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<SkinData>> pendingRequests = new ConcurrentHashMap<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
 
+    /**
+     * Constructs a new SkinFetcher with the default time to live of 24 hours and the default
+     * limit of 1000 cached skins, and loads the persisted skins.
+     *
+     * @param plugin the plugin the async tasks are scheduled for
+     */
     public SkinFetcher(JavaPlugin plugin) {
+        this(plugin, DEFAULT_TIME_TO_LIVE_MILLIS, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructs a new SkinFetcher and loads the persisted skins.
+     *
+     * @param plugin the plugin the async tasks are scheduled for
+     * @param timeToLiveMillis the time in milliseconds after which a cached skin is fetched again
+     * @param maxSize the maximum number of cached skins
+     */
+    public SkinFetcher(JavaPlugin plugin, long timeToLiveMillis, int maxSize) {
         this.plugin = plugin;
+        this.cacheFile = new File(plugin.getDataFolder(), "skins.json");
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.maxSize = maxSize;
+        this.load();
     }
 
     /**
@@ -66,65 +117,203 @@ public class SkinFetcher {
      *                   If the data fetch fails, both parameters will be null.
      */
     public void fetchSkin(String playerName, BiConsumer<String, String> callback) {
-        if (skinCache.containsKey(playerName.toLowerCase())) {
-            SkinData cachedSkin = skinCache.get(playerName.toLowerCase());
+        SkinData cachedSkin = this.getCachedSkin(playerName);
+        if (cachedSkin != null) {
             callback.accept(cachedSkin.getValue(), cachedSkin.getSignature());
             return;
         }
 
+        this.fetchSkin(playerName).thenAccept(skin -> {
+            if (skin == null) {
+                syncCallback(callback, null, null);
+                return;
+            }
+            syncCallback(callback, skin.getValue(), skin.getSignature());
+        });
+    }
+
+    /**
+     * Fetches the skin data for a given Minecraft player.
+     * If a fresh skin is cached, the returned future is already completed. Otherwise, the skin
+     * is fetched asynchronously from Mojang's API, and all concurrent calls for the same player
+     * share the same request. The future completes on an async thread with {@code null} if the
+     * player does not exist or the skin could not be fetched; in the latter case, which includes
+     * error responses such as a rate limit, an expired cached skin is used if there is one.
+     *
+     * @param playerName The name of the Minecraft player whose skin data is to be fetched.
+     * @return a future completing with the skin data, or with {@code null} if no skin was found
+     */
+    public CompletableFuture<SkinData> fetchSkin(String playerName) {
+        SkinData cachedSkin = this.getCachedSkin(playerName);
+        if (cachedSkin != null) {
+            return CompletableFuture.completedFuture(cachedSkin);
+        }
+
+        String key = playerName.toLowerCase(Locale.ROOT);
+        CompletableFuture<SkinData> future = new CompletableFuture<>();
+        CompletableFuture<SkinData> pending = this.pendingRequests.putIfAbsent(key, future);
+        if (pending != null) {
+            return pending;
+        }
+
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            SkinData skin = null;
             try {
-                String uuidUrl = "https://api.mojang.com/users/profiles/minecraft/" + playerName;
-                String uuidResponse = makeHttpRequest(uuidUrl);
-
-                if (uuidResponse == null || uuidResponse.isEmpty()) {
-                    syncCallback(callback, null, null);
-                    return;
+                skin = this.requestSkin(playerName);
+                if (skin != null) {
+                    this.store(key, skin);
                 }
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to fetch Skin for " + playerName, e);
+                skin = this.skinCache.get(key);
+            } finally {
+                this.pendingRequests.remove(key, future);
+                future.complete(skin);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns the cached skin data for a given Minecraft player, if it has not expired yet.
+     *
+     * @param playerName The name of the Minecraft player.
+     * @return the cached skin data, or {@code null} if no fresh skin is cached
+     */
+    public @Nullable SkinData getCachedSkin(String playerName) {
+        SkinData skin = this.skinCache.get(playerName.toLowerCase(Locale.ROOT));
+        if (skin == null || this.isExpired(skin, System.currentTimeMillis())) return null;
+
+        return skin;
+    }
+
+    /**
+     * Writes the cached skins to {@code skins.json}. Should be called when the plugin is disabled.
+     */
+    public void shutdown() {
+        this.save();
+    }
 
-                JsonObject uuidObject = JsonParser.parseString(uuidResponse).getAsJsonObject();
-                String uuidStr = uuidObject.get("id").getAsString();
+    private @Nullable SkinData requestSkin(String playerName) throws IOException {
+        String uuidUrl = "https://api.mojang.com/users/profiles/minecraft/" + playerName;
+        String uuidResponse = makeHttpRequest(uuidUrl);
 
-                UUID uuid = UUID.fromString(
-                        uuidStr.replaceFirst(
-                                "(\\p{XDigit}{8})(\\p{XDigit}{4})(\\p{XDigit}{4})(\\p{XDigit}{4})(\\p{XDigit}+)",
-                                "$1-$2-$3-$4-$5"
-                        )
-                );
+        if (uuidResponse == null || uuidResponse.isEmpty()) {
+            return null;
+        }
 
-                String profileUrl = "https://sessionserver.mojang.com/session/minecraft/profile/" + uuid.toString().replace("-", "") + "?unsigned=false";
-                String profileResponse = makeHttpRequest(profileUrl);
+        JsonObject uuidObject = JsonParser.parseString(uuidResponse).getAsJsonObject();
+        String uuidStr = uuidObject.get("id").getAsString();
 
-                if (profileResponse == null || profileResponse.isEmpty()) {
-                    syncCallback(callback, null, null);
-                    return;
-                }
+        UUID uuid = UUID.fromString(
+                uuidStr.replaceFirst(
+                        "(\\p{XDigit}{8})(\\p{XDigit}{4})(\\p{XDigit}{4})(\\p{XDigit}{4})(\\p{XDigit}+)",
+                        "$1-$2-$3-$4-$5"
+                )
+        );
 
-                JsonObject profileObject = JsonParser.parseString(profileResponse).getAsJsonObject();
-                JsonObject texturesProperty = profileObject
-                        .getAsJsonArray("properties")
-                        .get(0)
-                        .getAsJsonObject();
+        String profileUrl = "https://sessionserver.mojang.com/session/minecraft/profile/" + uuid.toString().replace("-", "") + "?unsigned=false";
+        String profileResponse = makeHttpRequest(profileUrl);
 
-                String skinValue = texturesProperty.get("value").getAsString();
-                String skinSignature = texturesProperty.get("signature").getAsString();
+        if (profileResponse == null || profileResponse.isEmpty()) {
+            return null;
+        }
 
-                skinCache.put(playerName.toLowerCase(), new SkinData(skinValue, skinSignature));
+        JsonObject profileObject = JsonParser.parseString(profileResponse).getAsJsonObject();
+        JsonObject texturesProperty = profileObject
+                .getAsJsonArray("properties")
+                .get(0)
+                .getAsJsonObject();
 
-                syncCallback(callback, skinValue, skinSignature);
+        String skinValue = texturesProperty.get("value").getAsString();
+        String skinSignature = texturesProperty.get("signature").getAsString();
+        return new SkinData(skinValue, skinSignature, System.currentTimeMillis());
+    }
 
-            } catch (Exception e) {
-                plugin.getLogger().log(Level.SEVERE, "Failed to fetch Skin for " + playerName, e);
-                syncCallback(callback, null, null);
+    /**
+     * Caches the given skin, evicts the oldest skins if the cache is full and schedules
+     * writing the cache to disk.
+     */
+    private synchronized void store(String key, SkinData skin) {
+        this.skinCache.put(key, skin);
+
+        while (this.skinCache.size() > this.maxSize) {
+            String oldestKey = null;
+            long oldestFetchedAt = Long.MAX_VALUE;
+            for (Map.Entry<String, SkinData> entry : this.skinCache.entrySet()) {
+                if (entry.getValue().getFetchedAt() < oldestFetchedAt) {
+                    oldestFetchedAt = entry.getValue().getFetchedAt();
+                    oldestKey = entry.getKey();
+                }
             }
-        });
+            if (oldestKey == null) break;
+
+            this.skinCache.remove(oldestKey);
+        }
+
+        if (this.saveScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, this::save, SAVE_DELAY_TICKS);
+        }
+    }
+
+    private boolean isExpired(SkinData skin, long now) {
+        return now - skin.getFetchedAt() > this.timeToLiveMillis;
+    }
+
+    private void load() {
+        if (!this.cacheFile.exists()) return;
+
+        JsonDocument document = JsonDocument.loadDocument(this.cacheFile);
+        if (document == null) {
+            plugin.getLogger().warning("Failed to load the skin cache, it will be rebuilt.");
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, JsonElement> entry : document.getEntries()) {
+            JsonObject skinObject = entry.getValue().getAsJsonObject();
+            SkinData skin = new SkinData(
+                    skinObject.get("value").getAsString(),
+                    skinObject.get("signature").getAsString(),
+                    skinObject.get("fetched-at").getAsLong()
+            );
+            if (this.isExpired(skin, now)) continue;
+
+            this.skinCache.put(entry.getKey(), skin);
+        }
+    }
+
+    private synchronized void save() {
+        this.saveScheduled.set(false);
+
+        JsonDocument document = new JsonDocument();
+        for (Map.Entry<String, SkinData> entry : this.skinCache.entrySet()) {
+            JsonObject skinObject = new JsonObject();
+            skinObject.addProperty("value", entry.getValue().getValue());
+            skinObject.addProperty("signature", entry.getValue().getSignature());
+            skinObject.addProperty("fetched-at", entry.getValue().getFetchedAt());
+            document.set(entry.getKey(), skinObject);
+        }
+
+        try {
+            document.saveAtomically(this.cacheFile);
+        } catch (IOException exception) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to save the skin cache", exception);
+        }
     }
 
     private void syncCallback(BiConsumer<String, String> callback, String value, String signature) {
         Bukkit.getScheduler().runTask(plugin, () -> callback.accept(value, signature));
     }
 
-    private String makeHttpRequest(String urlString) throws IOException {
+    /**
+     * Requests the given URL and returns the response body.
+     *
+     * @return the response body, or {@code null} if the requested resource does not exist
+     * @throws IOException if the request failed, including any other non-OK status such as
+     *                     a rate limit, so the caller can fall back to an expired cached skin
+     */
+    private @Nullable String makeHttpRequest(String urlString) throws IOException {
         URL url = new URL(urlString);
         HttpURLConnection connection = (HttpURLConnection) url.openConnection();
         connection.setRequestMethod("GET");
@@ -146,20 +335,27 @@ public class SkinFetcher {
             return response.toString();
         }
 
-        return null;
+        connection.disconnect();
+        if (responseCode == HttpURLConnection.HTTP_NO_CONTENT || responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            return null;
+        }
+
+        throw new IOException("Request to " + urlString + " failed with HTTP status " + responseCode);
     }
 
     /**
      * Represents the data associated with a player's Minecraft skin, including the texture value
      * and the corresponding signature for validation.
      */
-    public class SkinData {
+    public static class SkinData {
         private final String value;
         private final String signature;
+        private final long fetchedAt;
 
-        public SkinData(String value, String signature) {
+        public SkinData(String value, String signature, long fetchedAt) {
             this.value = value;
             this.signature = signature;
+            this.fetchedAt = fetchedAt;
         }
 
         public String getValue() {
@@ -169,5 +365,9 @@ public class SkinFetcher {
         public String getSignature() {
             return signature;
         }
+
+        public long getFetchedAt() {
+            return fetchedAt;
+        }
     }
 }
@@ -0,0 +1,165 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.utils;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * A {@link JsonDocument} that is kept in memory as the authoritative copy of a file and
+ * written back to disk lazily. Edits only mark the document as dirty; a background task
+ * coalesces all edits made since the last write into a single atomic save.
+ * <p>
+ * Edits and reads are synchronized on this instance, while the actual file write happens
+ * outside of that lock, so the main thread is never blocked by disk I/O.
+ */
+public class WriteBehindDocument {
+
+    private final Plugin plugin;
+    @Getter
+    private final File file;
+    private final JsonDocument document;
+    private final Object flushLock = new Object();
+
+    private boolean dirty;
+    private BukkitTask task;
+
+    /**
+     * Constructs a new WriteBehindDocument and loads the current content of the given file.
+     * If the file does not exist or cannot be parsed, an empty document is used.
+     *
+     * @param plugin the plugin used to schedule the background writes
+     * @param file the file backing this document
+     */
+    public WriteBehindDocument(Plugin plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+
+        JsonDocument loaded = JsonDocument.loadDocument(file);
+        this.document = loaded != null && loaded.getJsonObject() != null ? loaded : new JsonDocument();
+    }
+
+    /**
+     * Starts the background task that writes pending changes to disk.
+     *
+     * @param intervalTicks the interval in ticks in which pending changes are written
+     */
+    public void start(long intervalTicks) {
+        if (this.task != null) return;
+
+        this.task = Bukkit.getScheduler().runTaskTimerAsynchronously(this.plugin, this::flush, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Applies the given edit to the in-memory document and marks it as dirty.
+     *
+     * @param editor the edit to apply to the document
+     */
+    public synchronized void edit(Consumer<JsonDocument> editor) {
+        editor.accept(this.document);
+        this.dirty = true;
+    }
+
+    /**
+     * Reads from the in-memory document without marking it as dirty. The reader must not
+     * modify the document or leak references to its elements.
+     *
+     * @param reader the function reading from the document
+     * @param <T> the type of the result
+     * @return the result of the reader
+     */
+    public synchronized <T> T read(Function<JsonDocument, T> reader) {
+        return reader.apply(this.document);
+    }
+
+    /**
+     * Returns a deep copy of the current content of the document.
+     *
+     * @return a copy of the document content
+     */
+    public synchronized JsonObject snapshot() {
+        return this.document.getJsonObject().deepCopy();
+    }
+
+    /**
+     * Returns whether the document has changes that have not been written to disk yet.
+     *
+     * @return {@code true} if there are pending changes, {@code false} otherwise
+     */
+    public synchronized boolean isDirty() {
+        return this.dirty;
+    }
+
+    /**
+     * Writes the pending changes to disk, if there are any. Concurrent flushes are
+     * serialized, so an older state can never overwrite a newer one.
+     */
+    public void flush() {
+        synchronized (this.flushLock) {
+            JsonDocument copy;
+            synchronized (this) {
+                if (!this.dirty) return;
+
+                copy = new JsonDocument(this.document.getJsonObject().deepCopy());
+                this.dirty = false;
+            }
+
+            try {
+                copy.saveAtomically(this.file);
+            } catch (IOException exception) {
+                synchronized (this) {
+                    this.dirty = true;
+                }
+                this.plugin.getLogger().log(Level.SEVERE, "Failed to save " + this.file.getName(), exception);
+            }
+        }
+    }
+
+    /**
+     * Stops the background task and writes all pending changes synchronously.
+     */
+    public void close() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.flush();
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+package de.t0bx.sentienceEntity.utils.collection;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from primitive {@code int} keys to primitive {@code int}
+ * values. Unlike a {@code HashMap<Integer, Integer>} it does not box keys or values and
+ * does not allocate an entry object per mapping. In contrast to {@link LongIntHashMap},
+ * mappings can be removed, which keeps the probe sequences intact by shifting the
+ * following entries back instead of leaving tombstones.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class IntIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private final int missingValue;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+    /**
+     * Constructs a new IntIntHashMap.
+     *
+     * @param expectedSize the number of mappings the map should hold without resizing
+     * @param missingValue the value returned by {@link #get(int)} for keys without a mapping
+     */
+    public IntIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        this.allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key the key to look up
+     * @return the mapped value, or the missing value of this map if there is no mapping
+     */
+    public int get(int key) {
+        int slot = this.slotOf(key);
+        return slot < 0 ? this.missingValue : this.values[slot];
+    }
+
+    /**
+     * Checks whether the given key is mapped to a value.
+     *
+     * @param key the key to look up
+     * @return {@code true} if there is a mapping for the key
+     */
+    public boolean containsKey(int key) {
+        return this.slotOf(key) >= 0;
+    }
+
+    /**
+     * Maps the given key to the given value, replacing any previous mapping.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(int key, int value) {
+        int slot = mix(key) & this.mask;
+        while (this.used[slot]) {
+            if (this.keys[slot] == key) {
+                this.values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        this.used[slot] = true;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+
+        if (++this.size > this.resizeThreshold) {
+            this.rehash(this.keys.length << 1);
+        }
+    }
+
+    /**
+     * Removes the mapping of the given key.
+     *
+     * @param key the key
+     * @return {@code true} if there was a mapping for the key
+     */
+    public boolean remove(int key) {
+        int gap = this.slotOf(key);
+        if (gap < 0) return false;
+
+        int slot = (gap + 1) & this.mask;
+        while (this.used[slot]) {
+            int home = mix(this.keys[slot]) & this.mask;
+            if (((slot - home) & this.mask) >= ((slot - gap) & this.mask)) {
+                this.keys[gap] = this.keys[slot];
+                this.values[gap] = this.values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        this.used[gap] = false;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return the number of mappings
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all mappings while keeping the allocated capacity.
+     */
+    public void clear() {
+        if (this.size == 0) return;
+
+        Arrays.fill(this.used, false);
+        this.size = 0;
+    }
+
+    private int slotOf(int key) {
+        int slot = mix(key) & this.mask;
+        while (this.used[slot]) {
+            if (this.keys[slot] == key) return slot;
+            slot = (slot + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        boolean[] oldUsed = this.used;
+
+        this.allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (!oldUsed[i]) continue;
+
+            int slot = mix(oldKeys[i]) & this.mask;
+            while (this.used[slot]) {
+                slot = (slot + 1) & this.mask;
+            }
+
+            this.used[slot] = true;
+            this.keys[slot] = oldKeys[i];
+            this.values[slot] = oldValues[i];
+            this.size++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+        this.size = 0;
+        this.mask = capacity - 1;
+        this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
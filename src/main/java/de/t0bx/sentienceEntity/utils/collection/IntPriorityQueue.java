@@ -0,0 +1,147 @@
+/**
+ SentienceEntity API License v1.1
+ Copyright (c) 2025 (t0bx)
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the “Software”), to use, copy, modify, and integrate the Software into their own projects, including commercial and closed-source projects, subject to the following conditions:
+
+ 1. Attribution:
+ You must give appropriate credit to the original author ("Tobias Schuster" or "t0bx"), provide a link to the source or official page if available, and indicate if changes were made. You must do so in a reasonable and visible manner, such as in your plugin.yml, README, or about page.
+
+ 2. No Redistribution or Resale:
+ You may NOT sell, redistribute, or otherwise make the original Software or modified standalone versions of it available as a product (free or paid), plugin, or downloadable file, unless you have received prior written permission from the author. This includes publishing the plugin on any marketplace (e.g., SpigotMC, MC-Market, Polymart) or including it in paid bundles.
+
+ 3. Use as Dependency/API:
+ You are allowed to use this Software as a dependency or library in your own plugin or project, including in paid products, as long as attribution is given and the Software itself is not being sold or published separately.
+
+ 4. No Misrepresentation:
+ You may not misrepresent the origin of the Software. You must clearly distinguish your own modifications from the original work. The original author's name may not be removed from the source files or documentation.
+
+ 5. License Retention:
+ This license notice and all conditions must be preserved in all copies or substantial portions of the Software.
+
+ 6. Disclaimer:
+ THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY ARISING FROM THE USE OF THIS SOFTWARE.
+
+ ---
+
+ Summary (non-binding):
+ You may use this plugin in your projects, even commercially, but you may not resell or republish it. Always give credit to t0bx.
+ */
+
+package de.t0bx.sentienceEntity.utils.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of primitive {@code int} values ordered by a {@code float} priority.
+ * Values and priorities are kept in two parallel arrays, so adding and polling never
+ * allocates once the heap has grown to its working size.
+ * <p>
+ * The heap has no decrease-key operation. Callers that need one add the value again
+ * with the lower priority and skip outdated entries when polling them.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class IntPriorityQueue {
+
+    private int[] values;
+    private float[] priorities;
+    private int size;
+
+    /**
+     * Constructs a new IntPriorityQueue.
+     *
+     * @param initialCapacity the number of entries the heap can hold without growing
+     */
+    public IntPriorityQueue(int initialCapacity) {
+        this.values = new int[Math.max(1, initialCapacity)];
+        this.priorities = new float[this.values.length];
+    }
+
+    /**
+     * Adds a value with the given priority.
+     *
+     * @param value the value to add
+     * @param priority the priority of the value, lower priorities are polled first
+     */
+    public void add(int value, float priority) {
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, this.size << 1);
+            this.priorities = Arrays.copyOf(this.priorities, this.size << 1);
+        }
+
+        int index = this.size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (this.priorities[parent] <= priority) break;
+
+            this.values[index] = this.values[parent];
+            this.priorities[index] = this.priorities[parent];
+            index = parent;
+        }
+
+        this.values[index] = value;
+        this.priorities[index] = priority;
+    }
+
+    /**
+     * Removes and returns the value with the lowest priority.
+     *
+     * @return the value with the lowest priority
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int poll() {
+        if (this.size == 0) throw new NoSuchElementException("Queue is empty!");
+
+        int result = this.values[0];
+        int lastValue = this.values[--this.size];
+        float lastPriority = this.priorities[this.size];
+
+        int index = 0;
+        int half = this.size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < this.size && this.priorities[right] < this.priorities[child]) {
+                child = right;
+            }
+            if (lastPriority <= this.priorities[child]) break;
+
+            this.values[index] = this.values[child];
+            this.priorities[index] = this.priorities[child];
+            index = child;
+        }
+
+        if (this.size > 0) {
+            this.values[index] = lastValue;
+            this.priorities[index] = lastPriority;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the heap is empty.
+     *
+     * @return true if the heap contains no entries; false otherwise
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of entries in the heap.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all entries while keeping the allocated capacity.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+}